@@ -0,0 +1,88 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import com.spotify.missinglink.ArtifactLoader;
+import com.spotify.missinglink.Conflict;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactBuilder;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import io.github.mridang.gradle.missinglink.artifacts.BootstrapArtifacts;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the checker engines on the benchmark's own classpath.
+ *
+ * <p>The classes directories on the classpath make up the project, and every jar except the large
+ * generated Gradle API is checked against the JDK's bootstrap classes. The classpath is loaded once
+ * per trial, so only the checking itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConflictCheckerBenchmark {
+
+  @Param({"spotify", "prefiltered", "indexed"})
+  public String engine = "spotify";
+
+  @Param({"1", "4"})
+  public int threads = 1;
+
+  private final Artifact project;
+  private final List<Artifact> classpath = new ArrayList<>();
+  private final List<Artifact> allArtifacts;
+
+  /** Loads the project, classpath and bootstrap artifacts. */
+  public ConflictCheckerBenchmark() {
+    ArtifactLoader loader = new ArtifactLoader();
+    Map<ClassTypeDescriptor, DeclaredClass> projectClasses = new HashMap<>();
+    try {
+      for (String path : System.getProperty("java.class.path").split(File.pathSeparator)) {
+        File file = new File(path);
+        if (file.isDirectory()) {
+          projectClasses.putAll(loader.load(file).classes());
+        } else if (file.getName().endsWith(".jar") && !file.getName().startsWith("gradle-api")) {
+          classpath.add(loader.load(new ArtifactName(file.getName()), file));
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to load the benchmark classpath", e);
+    }
+    project =
+        new ArtifactBuilder().name(new ArtifactName("project")).classes(projectClasses).build();
+    allArtifacts = new ArrayList<>(classpath);
+    allArtifacts.addAll(new BootstrapArtifacts().toMissingLinkArtifacts());
+  }
+
+  /**
+   * Checks the classpath with the selected engine and number of threads.
+   *
+   * @return The conflicts found, so that the check is not eliminated.
+   */
+  @Benchmark
+  public List<Conflict> check() {
+    MissingLinkChecker checker =
+        new ShardedConflictChecker(
+            switch (engine) {
+              case "indexed" -> new IndexedConflictChecker();
+              case "prefiltered" -> new PrefilteringConflictChecker(new SpotifyConflictChecker());
+              default -> new SpotifyConflictChecker();
+            },
+            threads);
+    return checker.check(project, classpath, allArtifacts);
+  }
+}
@@ -2,7 +2,10 @@ package io.github.mridang.gradle.missinglink;
 
 import com.spotify.missinglink.datamodel.ArtifactName;
 import java.io.File;
+import java.io.Serializable;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
 import org.gradle.api.artifacts.ResolvedArtifact;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
 
 /**
  * Represents an individual artifact with metadata.
@@ -12,7 +15,8 @@ import org.gradle.api.artifacts.ResolvedArtifact;
  * @param version The artifact's version.
  * @param file The resolved file.
  */
-public record MissingLinkArtifact(String group, String name, String version, File file) {
+public record MissingLinkArtifact(String group, String name, String version, File file)
+    implements Serializable {
 
   /**
    * Creates a {@code MissingLinkArtifact} from a resolved artifact.
@@ -28,6 +32,19 @@ public record MissingLinkArtifact(String group, String name, String version, Fil
         artifact.getFile());
   }
 
+  /**
+   * Creates a {@code MissingLinkArtifact} from a resolved artifact result.
+   *
+   * @param artifact The Gradle resolved artifact result.
+   * @param module The module version of the component owning the artifact.
+   * @return The {@code MissingLinkArtifact} representation.
+   */
+  public static MissingLinkArtifact fromResolvedArtifactResult(
+      ResolvedArtifactResult artifact, ModuleVersionIdentifier module) {
+    return new MissingLinkArtifact(
+        module.getGroup(), module.getName(), module.getVersion(), artifact.getFile());
+  }
+
   /**
    * Converts to a Spotify MissingLink {@code ArtifactName}.
    *
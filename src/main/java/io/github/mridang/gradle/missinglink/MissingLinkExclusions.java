@@ -1,16 +1,51 @@
 package io.github.mridang.gradle.missinglink;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.specs.Spec;
+import org.jetbrains.annotations.Nullable;
 
 /**
- * Represents a set of excluded artifacts, allowing users to exclude dependencies by full name.
+ * Represents a set of excluded artifacts, allowing users to exclude dependencies by their
+ * coordinates.
  *
- * @param excludePatterns A list of exclusion patterns from the Gradle extension.
+ * <p>Each pattern is one of:
+ *
+ * <ul>
+ *   <li>{@code group:name}, e.g. {@code com.fasterxml.jackson.core:jackson-databind}, where the
+ *       group and name may contain {@code *} wildcards, e.g. {@code com.fasterxml.*:*};
+ *   <li>{@code group:name:version}, where the version is exact, e.g. {@code 2.18.2}, a prefix,
+ *       e.g. {@code 2.+}, or a range, e.g. {@code [2.0,2.18)};
+ *   <li>{@code /regex/}, which is matched against the whole {@code group:name:version}.
+ * </ul>
+ *
+ * <p>The patterns are compiled once, into a set of exact coordinates, a trie of prefixes and a
+ * list of the remaining rules, so that matching an artifact does not depend on the number of
+ * plain patterns.
  */
-public record MissingLinkExclusions(List<String> excludePatterns)
-    implements Predicate<MissingLinkArtifact> {
+public final class MissingLinkExclusions implements Predicate<MissingLinkArtifact> {
+
+  private static final Logger LOGGER = Logging.getLogger(MissingLinkExclusions.class);
+
+  private final List<String> excludePatterns;
+  private final Set<String> modules = new HashSet<>();
+  private final PrefixTrie modulePrefixes = new PrefixTrie();
+  private final Map<String, List<Predicate<String>>> moduleVersions = new HashMap<>();
+  private final List<Rule> rules = new ArrayList<>();
 
   /**
    * Constructs exclusions from the project configuration.
@@ -26,8 +61,25 @@ public record MissingLinkExclusions(List<String> excludePatterns)
             .get());
   }
 
+  /**
+   * Constructs exclusions from a list of patterns.
+   *
+   * @param excludePatterns A list of exclusion patterns from the Gradle extension.
+   */
   public MissingLinkExclusions(List<String> excludePatterns) {
     this.excludePatterns = List.copyOf(excludePatterns);
+    for (String pattern : this.excludePatterns) {
+      compile(pattern);
+    }
+  }
+
+  /**
+   * Gets the exclusion patterns.
+   *
+   * @return The exclusion patterns, as configured.
+   */
+  public List<String> excludePatterns() {
+    return excludePatterns;
   }
 
   /**
@@ -38,8 +90,258 @@ public record MissingLinkExclusions(List<String> excludePatterns)
    */
   @Override
   public boolean test(MissingLinkArtifact artifact) {
-    return excludePatterns.stream()
-        .anyMatch(
-            exclusion -> exclusion.equals("%s:%s".formatted(artifact.group(), artifact.name())));
+    return excludes(artifact.group(), artifact.name(), artifact.version());
+  }
+
+  /**
+   * Checks if a module version is excluded.
+   *
+   * @param group The module's group.
+   * @param name The module's name.
+   * @param version The module's version.
+   * @return {@code true} if the module matches an exclusion pattern, otherwise {@code false}.
+   */
+  public boolean excludes(String group, String name, String version) {
+    String module = group + ":" + name;
+    if (modules.contains(module) || modulePrefixes.matchesPrefixOf(module)) {
+      return true;
+    }
+    List<Predicate<String>> versions = moduleVersions.get(module);
+    if (versions != null) {
+      for (Predicate<String> versionPredicate : versions) {
+        if (versionPredicate.test(version)) {
+          return true;
+        }
+      }
+    }
+    if (!rules.isEmpty()) {
+      String coordinates = module + ":" + version;
+      for (Rule rule : rules) {
+        if (rule.test(module, version, coordinates)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Creates a filter of the components whose artifacts are resolved, so that the artifacts of
+   * excluded modules are never downloaded, transformed or fingerprinted.
+   *
+   * <p>Only module components can be filtered by their coordinates, so the artifacts of other
+   * components, e.g. projects, still have to be filtered with {@link #test(MissingLinkArtifact)}.
+   *
+   * @return A spec satisfied by every component that is not excluded.
+   */
+  public Spec<ComponentIdentifier> componentFilter() {
+    return new ComponentFilter(this);
+  }
+
+  /**
+   * Creates a {@link #componentFilter() component filter} whose exclusion patterns are only read,
+   * and compiled once, when the first component is filtered, so that configuring a task that
+   * resolves its artifacts through the filter does not read the patterns early.
+   *
+   * @param excludePatterns The patterns of the excluded artifacts.
+   * @return A spec satisfied by every component that is not excluded.
+   */
+  public static Spec<ComponentIdentifier> componentFilter(Provider<List<String>> excludePatterns) {
+    return new LazyComponentFilter(excludePatterns);
+  }
+
+  private void compile(String pattern) {
+    if (pattern.length() > 2 && pattern.startsWith("/") && pattern.endsWith("/")) {
+      try {
+        Pattern regex = Pattern.compile(pattern.substring(1, pattern.length() - 1));
+        rules.add(new Rule(null, null, regex));
+      } catch (PatternSyntaxException e) {
+        LOGGER.warn("Ignoring invalid MissingLink exclusion pattern: {}", pattern, e);
+      }
+      return;
+    }
+
+    String[] parts = pattern.split(":", -1);
+    if (parts.length < 2 || parts.length > 3) {
+      LOGGER.warn(
+          "Ignoring MissingLink exclusion '{}', expected group:name or group:name:version",
+          pattern);
+      return;
+    }
+    String group = parts[0];
+    String name = parts[1];
+    String module = group + ":" + name;
+    Predicate<String> version = parts.length == 3 ? version(parts[2]) : null;
+    boolean glob = module.indexOf('*') >= 0;
+
+    if (!glob && version == null) {
+      modules.add(module);
+    } else if (!glob) {
+      moduleVersions.computeIfAbsent(module, key -> new ArrayList<>()).add(version);
+    } else if (version == null && name.equals("*") && isTrailingWildcard(group)) {
+      modulePrefixes.add(group.substring(0, group.length() - 1));
+    } else if (version == null && group.indexOf('*') < 0 && isTrailingWildcard(name)) {
+      modulePrefixes.add(group + ":" + name.substring(0, name.length() - 1));
+    } else {
+      rules.add(new Rule(globToRegex(module), version, null));
+    }
+  }
+
+  private static boolean isTrailingWildcard(String value) {
+    return value.indexOf('*') == value.length() - 1;
+  }
+
+  private static Pattern globToRegex(String glob) {
+    StringBuilder regex = new StringBuilder();
+    int start = 0;
+    for (int star = glob.indexOf('*'); star >= 0; star = glob.indexOf('*', start)) {
+      regex.append(Pattern.quote(glob.substring(start, star))).append("[^:]*");
+      start = star + 1;
+    }
+    return Pattern.compile(regex.append(Pattern.quote(glob.substring(start))).toString());
+  }
+
+  /**
+   * Compiles a version pattern, which is exact, a prefix ending in {@code +}, {@code *} for any
+   * version, or a range such as {@code [1.0,2.0)}.
+   *
+   * @param pattern The version pattern.
+   * @return A predicate matching the versions of the pattern.
+   */
+  static Predicate<String> version(String pattern) {
+    if (pattern.equals("*")) {
+      return version -> true;
+    }
+    if (pattern.endsWith("+")) {
+      String prefix = pattern.substring(0, pattern.length() - 1);
+      return version -> version.startsWith(prefix);
+    }
+    if (pattern.length() < 2
+        || !(pattern.startsWith("[") || pattern.startsWith("("))
+        || !(pattern.endsWith("]") || pattern.endsWith(")"))) {
+      return pattern::equals;
+    }
+
+    boolean lowerInclusive = pattern.startsWith("[");
+    boolean upperInclusive = pattern.endsWith("]");
+    String bounds = pattern.substring(1, pattern.length() - 1);
+    int comma = bounds.indexOf(',');
+    if (comma < 0) {
+      return version -> compareVersions(version, bounds) == 0;
+    }
+    String lower = bounds.substring(0, comma).trim();
+    String upper = bounds.substring(comma + 1).trim();
+    return version -> {
+      if (!lower.isEmpty()) {
+        int compared = compareVersions(version, lower);
+        if (compared < 0 || (compared == 0 && !lowerInclusive)) {
+          return false;
+        }
+      }
+      if (!upper.isEmpty()) {
+        int compared = compareVersions(version, upper);
+        return compared < 0 || (compared == 0 && upperInclusive);
+      }
+      return true;
+    };
+  }
+
+  /**
+   * Compares two versions part by part, numerically where both parts are numbers, so that {@code
+   * 1.10} is newer than {@code 1.9}. Missing parts count as {@code 0}.
+   *
+   * @param first The first version.
+   * @param second The second version.
+   * @return A negative number, zero or a positive number as the first version is older than, equal
+   *     to or newer than the second.
+   */
+  static int compareVersions(String first, String second) {
+    String[] firstParts = first.split("[.\\-_]");
+    String[] secondParts = second.split("[.\\-_]");
+    for (int i = 0; i < Math.max(firstParts.length, secondParts.length); i++) {
+      String firstPart = i < firstParts.length ? firstParts[i] : "0";
+      String secondPart = i < secondParts.length ? secondParts[i] : "0";
+      boolean firstNumeric = isNumeric(firstPart);
+      boolean secondNumeric = isNumeric(secondPart);
+      int compared;
+      if (firstNumeric && secondNumeric) {
+        compared = new BigInteger(firstPart).compareTo(new BigInteger(secondPart));
+      } else if (firstNumeric != secondNumeric) {
+        // A release part, e.g. the 1 of 2.0.1, is newer than a qualifier, e.g. the RC1 of 2.0-RC1.
+        compared = firstNumeric ? 1 : -1;
+      } else {
+        compared = firstPart.compareToIgnoreCase(secondPart);
+      }
+      if (compared != 0) {
+        return compared;
+      }
+    }
+    return 0;
+  }
+
+  private static boolean isNumeric(String part) {
+    if (part.isEmpty()) {
+      return false;
+    }
+    for (int i = 0; i < part.length(); i++) {
+      if (!Character.isDigit(part.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * An exclusion that is neither exact nor a prefix.
+   *
+   * @param module The glob of the module's {@code group:name}, if any.
+   * @param version The versions excluded, or {@code null} for every version.
+   * @param coordinates The regex of the whole {@code group:name:version}, if any.
+   */
+  private record Rule(Pattern module, Predicate<String> version, Pattern coordinates) {
+
+    boolean test(String moduleName, String moduleVersion, String moduleCoordinates) {
+      if (coordinates != null) {
+        return coordinates.matcher(moduleCoordinates).matches();
+      }
+      return module.matcher(moduleName).matches()
+          && (version == null || version.test(moduleVersion));
+    }
+  }
+
+  /**
+   * Selects the components that are not excluded.
+   *
+   * @param exclusions The exclusion rules.
+   */
+  private record ComponentFilter(MissingLinkExclusions exclusions)
+      implements Spec<ComponentIdentifier> {
+
+    @Override
+    public boolean isSatisfiedBy(ComponentIdentifier component) {
+      return !(component instanceof ModuleComponentIdentifier module)
+          || !exclusions.excludes(module.getGroup(), module.getModule(), module.getVersion());
+    }
+  }
+
+  /** Selects the components that are not excluded by patterns read on first use. */
+  private static final class LazyComponentFilter implements Spec<ComponentIdentifier> {
+
+    private final Provider<List<String>> excludePatterns;
+    private transient volatile @Nullable Spec<ComponentIdentifier> filter;
+
+    LazyComponentFilter(Provider<List<String>> excludePatterns) {
+      this.excludePatterns = excludePatterns;
+    }
+
+    @Override
+    public boolean isSatisfiedBy(ComponentIdentifier component) {
+      Spec<ComponentIdentifier> compiled = filter;
+      if (compiled == null) {
+        compiled = new MissingLinkExclusions(excludePatterns.get()).componentFilter();
+        filter = compiled;
+      }
+      return compiled.isSatisfiedBy(component);
+    }
   }
 }
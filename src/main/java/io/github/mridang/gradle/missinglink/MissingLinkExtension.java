@@ -21,6 +21,18 @@ public abstract class MissingLinkExtension {
   private final Property<Boolean> failOnConflicts;
   private final ListProperty<String> includeCategories;
   private final ListProperty<String> excludeDependencies;
+  private final Property<String> reachability;
+  private final ListProperty<String> entryPoints;
+  private final Property<String> engine;
+  private final Property<Integer> parallelism;
+  private final Property<Integer> checkBatchSize;
+  private final Property<Boolean> changedVersionsOnly;
+  private final Property<Boolean> conflictResolutionOnly;
+  private final Property<Boolean> incrementalClasspath;
+  private final Property<Integer> warmCacheSize;
+  private final Property<String> isolation;
+  private final Property<String> maxHeapSize;
+  private final ListProperty<String> jvmArgs;
   private final MissingLinkReports reports;
 
   /**
@@ -39,7 +51,32 @@ public abstract class MissingLinkExtension {
         objectFactory.listProperty(String.class).convention(Collections.emptyList());
     this.excludeDependencies =
         objectFactory.listProperty(String.class).convention(Collections.emptyList());
-    this.reports = objectFactory.newInstance(MissingLinkReportsImpl.class, project, objectFactory);
+    this.reachability =
+        objectFactory.property(String.class).convention(MissingLinkTask.REACHABILITY_CLASS);
+    this.entryPoints = objectFactory.listProperty(String.class).convention(Collections.emptyList());
+    this.engine = objectFactory.property(String.class).convention(MissingLinkTask.ENGINE_SPOTIFY);
+    this.parallelism =
+        objectFactory
+            .property(Integer.class)
+            .convention(Runtime.getRuntime().availableProcessors());
+    this.checkBatchSize = objectFactory.property(Integer.class).convention(0);
+    this.changedVersionsOnly = objectFactory.property(Boolean.class).convention(false);
+    this.conflictResolutionOnly = objectFactory.property(Boolean.class).convention(false);
+    this.incrementalClasspath = objectFactory.property(Boolean.class).convention(false);
+    this.warmCacheSize =
+        objectFactory
+            .property(Integer.class)
+            .convention((int) (Runtime.getRuntime().maxMemory() / 4 / (1024 * 1024)));
+    this.isolation =
+        objectFactory.property(String.class).convention(MissingLinkTask.ISOLATION_NONE);
+    this.maxHeapSize = objectFactory.property(String.class);
+    this.jvmArgs = objectFactory.listProperty(String.class).convention(Collections.emptyList());
+    this.reports =
+        objectFactory.newInstance(
+            MissingLinkReportsImpl.class,
+            new MissingLinkReportsImpl.Owner(project.getDisplayName()),
+            project.getLayout(),
+            objectFactory);
   }
 
   /**
@@ -64,11 +101,13 @@ public abstract class MissingLinkExtension {
   }
 
   /**
-   * Gets the list of categories to include in the MissingLink check.
+   * Gets the list of conflict categories to include in the MissingLink check, i.e. {@code
+   * CLASS_NOT_FOUND}, {@code METHOD_SIGNATURE_NOT_FOUND} or {@code FIELD_NOT_FOUND}. Every category
+   * is included if the list is empty.
    *
    * @return A {@link ListProperty} containing the included categories.
    */
-  @SuppressWarnings("unused")
+  @SuppressFBWarnings("EI_EXPOSE_REP")
   public ListProperty<String> getIncludeCategories() {
     return includeCategories;
   }
@@ -92,6 +131,175 @@ public abstract class MissingLinkExtension {
     this.excludeDependencies.add(dependency);
   }
 
+  /**
+   * Gets the granularity of the reachability analysis that decides what is checked.
+   *
+   * <p>With {@code class} (the default), every method of each dependency class reachable from the
+   * entry points is checked. With {@code method}, only the dependency methods reachable through the
+   * call graph are checked, so conflicts in dead library code are never reported. Methods only
+   * called through reflection or method handles are not considered reachable.
+   *
+   * @return A {@link Property} containing the reachability mode.
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP")
+  public Property<String> getReachability() {
+    return reachability;
+  }
+
+  /**
+   * Gets the project classes and packages from which reachability is computed.
+   *
+   * <p>Entries name either a class, e.g. {@code com.example.Main}, or a package and its
+   * subpackages, e.g. {@code com.example.api.*}. All project classes are entry points if the list
+   * is empty.
+   *
+   * @return A {@link ListProperty} containing the entry points.
+   */
+  public ListProperty<String> getEntryPoints() {
+    return entryPoints;
+  }
+
+  /**
+   * Gets the engine that resolves the method calls and field accesses of the classpath.
+   *
+   * <p>With {@code spotify} (the default), the classpath is resolved by the Spotify conflict
+   * checker. With {@code prefiltered}, the Spotify checker only resolves the references left after
+   * dropping those to members that their owner declares itself. With {@code indexed}, it is
+   * resolved against an index of interned descriptors, which resolves each referenced member once
+   * rather than at every reference. All of them report the same conflicts.
+   *
+   * @return A {@link Property} containing the checker engine.
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP")
+  public Property<String> getEngine() {
+    return engine;
+  }
+
+  /**
+   * Gets the maximum number of threads that load classpath artifacts and check them for conflicts.
+   * Only the {@code indexed} engine checks in parallel, as it shares one model of the classpath
+   * between its threads, whereas each Spotify check would build a model of its own.
+   *
+   * <p>Defaults to the number of available processors.
+   *
+   * @return A {@link Property} containing the parallelism.
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP")
+  public Property<Integer> getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Gets the number of classes checked per batch in streaming mode.
+   *
+   * <p>Defaults to {@code 0}, which keeps every parsed class in memory for the whole check. With a
+   * positive batch size, classes are parsed when they are indexed or checked and released right
+   * after, and the classpath is checked in batches of at most this many classes, so the heap a
+   * check needs no longer grows with the size of the classpath. Streaming requires the {@code
+   * indexed} engine and {@code class} reachability.
+   *
+   * @return A {@link Property} containing the batch size.
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP")
+  public Property<Integer> getCheckBatchSize() {
+    return checkBatchSize;
+  }
+
+  /**
+   * Determines whether only references into artifacts whose version changed are checked.
+   *
+   * <p>Defaults to {@code false}. When enabled, the runtime classpath is compared with the compile
+   * classpath, and only the method calls and field accesses into artifacts whose resolved version
+   * differs, or which are only on the runtime classpath, are checked. References into every other
+   * artifact and into the JDK resolve as they did at compile time, so checks are much cheaper, but
+   * conflicts caused by a JDK that differs from the compile JDK are no longer reported.
+   *
+   * @return A {@link Property} indicating whether to only check changed versions.
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP")
+  public Property<Boolean> getChangedVersionsOnly() {
+    return changedVersionsOnly;
+  }
+
+  /**
+   * Determines whether only the dependencies replaced during dependency resolution are checked.
+   *
+   * <p>Defaults to {@code false}. When enabled, the runtime classpath's resolution result is used
+   * to find the dependencies whose requested version was replaced by conflict resolution, a forced
+   * version, a constraint or a substitution. Only the artifacts that requested such a dependency
+   * are checked, and only their references into the version selected in its place, which is where
+   * conflicts come from. Conflicts caused by a JDK that differs from the one the artifacts were
+   * built against are no longer reported.
+   *
+   * @return A {@link Property} indicating whether to only check replaced dependencies.
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP")
+  public Property<Boolean> getConflictResolutionOnly() {
+    return conflictResolutionOnly;
+  }
+
+  /**
+   * Determines whether a changed classpath is only rechecked where it changed.
+   *
+   * <p>Defaults to {@code false}. When enabled, the hash of every artifact and the artifact
+   * declaring every checked class are kept alongside the result of each check. After a dependency
+   * update, only the references into or out of classes whose artifact changed are rechecked, and
+   * the previous conflicts of every other class are reused. Applies to {@code class} reachability
+   * without entry points, and to neither of the changed-version modes.
+   *
+   * @return A {@link Property} indicating whether to recheck the classpath incrementally.
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP")
+  public Property<Boolean> getIncrementalClasspath() {
+    return incrementalClasspath;
+  }
+
+  /**
+   * Gets the heap budget, in megabytes, of the daemon-wide cache of loaded artifacts.
+   *
+   * <p>Defaults to a quarter of the daemon's maximum heap. A budget of {@code 0} disables the
+   * cache.
+   *
+   * @return A {@link Property} containing the warm cache size.
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP")
+  public Property<Integer> getWarmCacheSize() {
+    return warmCacheSize;
+  }
+
+  /**
+   * Gets the isolation mode in which the check runs.
+   *
+   * <p>One of {@code none} (the default), {@code classloader} or {@code process}. Only {@code
+   * process} moves the analysis out of the daemon's heap, into a forked worker process configured
+   * by {@link #getMaxHeapSize()} and {@link #getJvmArgs()}.
+   *
+   * @return A {@link Property} containing the isolation mode.
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP")
+  public Property<String> getIsolation() {
+    return isolation;
+  }
+
+  /**
+   * Gets the maximum heap size of the forked worker process, e.g. {@code 2g}.
+   *
+   * @return A {@link Property} containing the maximum heap size.
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP")
+  public Property<String> getMaxHeapSize() {
+    return maxHeapSize;
+  }
+
+  /**
+   * Gets the additional JVM arguments of the forked worker process.
+   *
+   * @return A {@link ListProperty} containing the JVM arguments.
+   */
+  public ListProperty<String> getJvmArgs() {
+    return jvmArgs;
+  }
+
   /**
    * Returns the reports configuration for the MissingLink plugin.
    *
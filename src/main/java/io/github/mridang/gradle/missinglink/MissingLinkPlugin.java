@@ -1,7 +1,20 @@
 package io.github.mridang.gradle.missinglink;
 
+import io.github.mridang.gradle.missinglink.artifacts.ArtifactRegistry;
+import io.github.mridang.gradle.missinglink.artifacts.ClasspathArtifacts;
+import io.github.mridang.gradle.missinglink.artifacts.MissingLinkIndexTransform;
+import java.io.File;
+import java.util.Map;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.ArtifactCollection;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.type.ArtifactTypeDefinition;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskProvider;
 
 public class MissingLinkPlugin implements Plugin<Project> {
@@ -17,6 +30,48 @@ public class MissingLinkPlugin implements Plugin<Project> {
             .getExtensions()
             .create(EXTENSION_NAME, MissingLinkExtension.class, project, project.getObjects());
 
+    project
+        .getDependencies()
+        .registerTransform(
+            MissingLinkIndexTransform.class,
+            spec -> {
+              spec.getFrom()
+                  .attribute(
+                      ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE,
+                      ArtifactTypeDefinition.JAR_TYPE);
+              spec.getTo()
+                  .attribute(
+                      ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE,
+                      MissingLinkIndexTransform.ARTIFACT_TYPE);
+            });
+
+    Provider<ArtifactRegistry> artifactRegistry =
+        project
+            .getGradle()
+            .getSharedServices()
+            .registerIfAbsent(ArtifactRegistry.NAME, ArtifactRegistry.class, spec -> {});
+
+    Configuration runtimeClasspath = project.getConfigurations().getByName("runtimeClasspath");
+    Configuration compileClasspath = project.getConfigurations().getByName("compileClasspath");
+    // The compile classpath is only resolved when its versions are compared with the runtime's.
+    Provider<Map<String, String>> compileModuleVersions =
+        extension
+            .getChangedVersionsOnly()
+            .flatMap(
+                changedVersionsOnly ->
+                    changedVersionsOnly
+                        ? compileClasspath
+                            .getIncoming()
+                            .getResolutionResult()
+                            .getRootComponent()
+                            .map(ClasspathArtifacts::moduleVersionsOf)
+                        : project.getProviders().provider(Map::<String, String>of));
+    SourceSet main =
+        project
+            .getExtensions()
+            .getByType(SourceSetContainer.class)
+            .getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+
     TaskProvider<MissingLinkTask> missingLinkTask =
         project
             .getTasks()
@@ -24,9 +79,53 @@ public class MissingLinkPlugin implements Plugin<Project> {
                 TASK_NAME,
                 MissingLinkTask.class,
                 task -> {
+                  // Excluded modules are filtered out before their artifacts are resolved, so they
+                  // are never downloaded, transformed or fingerprinted.
+                  Spec<ComponentIdentifier> included =
+                      MissingLinkExclusions.componentFilter(extension.getExcludeDependencies());
+                  ArtifactCollection runtimeArtifacts =
+                      runtimeClasspath
+                          .getIncoming()
+                          .artifactView(view -> view.componentFilter(included))
+                          .getArtifacts();
+                  ArtifactCollection indexArtifacts =
+                      runtimeClasspath
+                          .getIncoming()
+                          .artifactView(
+                              view -> {
+                                view.lenient(true);
+                                view.componentFilter(included);
+                                view.getAttributes()
+                                    .attribute(
+                                        ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE,
+                                        MissingLinkIndexTransform.ARTIFACT_TYPE);
+                              })
+                          .getArtifacts();
                   task.setGroup("verification");
                   task.setDescription("Checks for missing link conflicts in dependencies.");
                   task.getFailOnConflicts().set(extension.getFailOnConflicts());
+                  task.getIncludeCategories().set(extension.getIncludeCategories());
+                  task.getExcludeDependencies().set(extension.getExcludeDependencies());
+                  task.getReachability().set(extension.getReachability());
+                  task.getEngine().set(extension.getEngine());
+                  task.getEntryPoints().set(extension.getEntryPoints());
+                  task.getParallelism().set(extension.getParallelism());
+                  task.getCheckBatchSize().set(extension.getCheckBatchSize());
+                  task.getChangedVersionsOnly().set(extension.getChangedVersionsOnly());
+                  task.getConflictResolutionOnly().set(extension.getConflictResolutionOnly());
+                  task.getIncrementalClasspath().set(extension.getIncrementalClasspath());
+                  task.getCompileModuleVersions().set(compileModuleVersions);
+                  task.getBootstrapSnapshotDirectory()
+                      .set(
+                          new File(
+                              project.getGradle().getGradleUserHomeDir(),
+                              "caches/missinglink/bootstrap"));
+                  task.getWarmCacheSize().set(extension.getWarmCacheSize());
+                  task.getIsolation().set(extension.getIsolation());
+                  task.getMaxHeapSize().set(extension.getMaxHeapSize());
+                  task.getJvmArgs().set(extension.getJvmArgs());
+                  task.getArtifactRegistry().set(artifactRegistry);
+                  task.usesService(artifactRegistry);
                   task.getReports()
                       .getHtml()
                       .getRequired()
@@ -51,8 +150,19 @@ public class MissingLinkPlugin implements Plugin<Project> {
                       .getSarif()
                       .getOutputLocation()
                       .set(extension.getReports().getSarif().getOutputLocation());
-                  task.getClasspath()
-                      .from(project.getConfigurations().getByName("runtimeClasspath"));
+                  task.getClasspath().from(runtimeArtifacts.getArtifactFiles());
+                  task.getRuntimeArtifacts().set(runtimeArtifacts.getResolvedArtifacts());
+                  task.getRuntimeRootComponent()
+                      .set(runtimeClasspath.getIncoming().getResolutionResult().getRootComponent());
+                  task.getIndexArtifacts().set(indexArtifacts.getResolvedArtifacts());
+                  task.dependsOn(indexArtifacts.getArtifactFiles());
+                  task.getClassesDirectories().from(main.getOutput().getClassesDirs());
+                  task.getJavaRuntimeVersion()
+                      .set(project.getProviders().systemProperty("java.runtime.version"));
+                  task.getStateDirectory()
+                      .set(project.getLayout().getBuildDirectory().dir("missinglink/state"));
+                  task.getResultFile()
+                      .set(project.getLayout().getBuildDirectory().file("missinglink/result.txt"));
                 });
 
     project.afterEvaluate(
@@ -2,8 +2,9 @@ package io.github.mridang.gradle.missinglink;
 
 import java.util.List;
 import javax.inject.Inject;
-import org.gradle.api.Project;
+import org.gradle.api.Describable;
 import org.gradle.api.file.Directory;
+import org.gradle.api.file.ProjectLayout;
 import org.gradle.api.file.RegularFile;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.Provider;
@@ -17,23 +18,34 @@ import org.gradle.api.reporting.internal.DelegatingReportContainer;
 public class MissingLinkReportsImpl extends DelegatingReportContainer<SingleFileReport>
     implements MissingLinkReports {
 
+  /**
+   * Constructs the reports of a MissingLink check.
+   *
+   * <p>Only the owner's description and the project layout are retained, so that tasks owning the
+   * reports do not capture the project and stay compatible with the configuration cache.
+   *
+   * @param owner The task or extension owning the reports.
+   * @param layout The layout of the project, which locates the default report files.
+   * @param objectFactory The Gradle {@link ObjectFactory} for creating the reports.
+   */
   @Inject
-  public MissingLinkReportsImpl(Project project, ObjectFactory objectFactory) {
+  public MissingLinkReportsImpl(
+      Describable owner, ProjectLayout layout, ObjectFactory objectFactory) {
     super(
         DefaultReportContainer.create(
             objectFactory,
             SingleFileReport.class,
             factory -> {
               CustomizableHtmlReportImpl htmlReport =
-                  factory.instantiateReport(CustomizableHtmlReportImpl.class, "html", project);
+                  factory.instantiateReport(CustomizableHtmlReportImpl.class, "html", owner);
               DefaultSingleFileReport xmlReport =
-                  factory.instantiateReport(DefaultSingleFileReport.class, "xml", project);
+                  factory.instantiateReport(DefaultSingleFileReport.class, "xml", owner);
               DefaultSingleFileReport sarifReport =
-                  factory.instantiateReport(DefaultSingleFileReport.class, "sarif", project);
+                  factory.instantiateReport(DefaultSingleFileReport.class, "sarif", owner);
 
               // Get reports directory as Provider<Directory>
               Provider<Directory> reportsDir =
-                  project.getLayout().getBuildDirectory().dir("reports/missinglink");
+                  layout.getBuildDirectory().dir("reports/missinglink");
 
               // Explicitly convert Provider<Directory> to Provider<RegularFile>
               Provider<RegularFile> htmlFile = reportsDir.map(dir -> dir.file("missinglink.html"));
@@ -55,6 +67,20 @@ public class MissingLinkReportsImpl extends DelegatingReportContainer<SingleFile
             }));
   }
 
+  /**
+   * Describes the owner of reports by a fixed display name, so that the reports do not capture the
+   * owner itself.
+   *
+   * @param displayName The display name of the owner.
+   */
+  record Owner(String displayName) implements Describable {
+
+    @Override
+    public String getDisplayName() {
+      return displayName;
+    }
+  }
+
   @Override
   public CustomizableHtmlReport getHtml() {
     return withType(CustomizableHtmlReport.class).getByName("html");
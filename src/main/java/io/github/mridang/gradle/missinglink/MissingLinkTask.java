@@ -1,59 +1,287 @@
 package io.github.mridang.gradle.missinglink;
 
-import com.spotify.missinglink.ArtifactLoader;
 import com.spotify.missinglink.Conflict;
-import com.spotify.missinglink.ConflictChecker;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import groovy.lang.Closure;
-import io.github.mridang.gradle.missinglink.artifacts.BootstrapArtifacts;
+import io.github.mridang.gradle.missinglink.artifacts.ArtifactRegistry;
 import io.github.mridang.gradle.missinglink.artifacts.ClasspathArtifacts;
-import io.github.mridang.gradle.missinglink.reports.HTMLReport;
-import io.github.mridang.gradle.missinglink.reports.SARIFReport;
-import io.github.mridang.gradle.missinglink.reports.XMLReport;
-import java.io.IOException;
+import io.github.mridang.gradle.missinglink.artifacts.ResolvedEdge;
+import java.io.File;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Set;
 import javax.inject.Inject;
 import org.gradle.api.Action;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
-import org.gradle.api.Project;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
 import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileType;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
 import org.gradle.api.reporting.Reporting;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Classpath;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.LocalState;
 import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.util.ConfigureUtil;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
 import org.jetbrains.annotations.NotNull;
 
 @CacheableTask
 public abstract class MissingLinkTask extends DefaultTask implements Reporting<MissingLinkReports> {
 
+  /** Runs the check in the daemon, sharing loaded artifacts with other projects. */
+  public static final String ISOLATION_NONE = "none";
+
+  /** Runs the check in the daemon using an isolated classloader. */
+  public static final String ISOLATION_CLASSLOADER = "classloader";
+
+  /** Runs the check in a forked worker process. */
+  public static final String ISOLATION_PROCESS = "process";
+
+  /** Checks every method of each classpath class reachable from the entry classes. */
+  public static final String REACHABILITY_CLASS = "class";
+
+  /** Checks only the classpath methods reachable from the entry classes. */
+  public static final String REACHABILITY_METHOD = "method";
+
+  /** Resolves the classpath with the Spotify conflict checker. */
+  public static final String ENGINE_SPOTIFY = "spotify";
+
+  /**
+   * Resolves the classpath with the Spotify conflict checker, after dropping the references to
+   * members that their owner declares itself.
+   */
+  public static final String ENGINE_PREFILTERED = "prefiltered";
+
+  /** Resolves the classpath against an index of interned descriptors. */
+  public static final String ENGINE_INDEXED = "indexed";
+
   @Input
   public abstract Property<Boolean> getFailOnConflicts();
 
+  /**
+   * The granularity of the reachability analysis that decides what is checked, either {@value
+   * #REACHABILITY_CLASS} or {@value #REACHABILITY_METHOD}.
+   *
+   * @return The reachability mode.
+   */
+  @Input
+  public abstract Property<String> getReachability();
+
+  /**
+   * The engine that resolves the classpath, either {@value #ENGINE_SPOTIFY}, {@value
+   * #ENGINE_PREFILTERED} or {@value #ENGINE_INDEXED}.
+   *
+   * @return The checker engine.
+   */
+  @Input
+  public abstract Property<String> getEngine();
+
+  /**
+   * The project classes, e.g. {@code com.example.Main}, and packages, e.g. {@code
+   * com.example.api.*}, from which the classpath is reached. All project classes are entry points
+   * if none are configured.
+   *
+   * @return The entry points.
+   */
+  @Input
+  public abstract ListProperty<String> getEntryPoints();
+
+  /**
+   * Whether only references into artifacts whose version differs from the compile classpath are
+   * checked.
+   *
+   * @return Whether to only check changed versions.
+   */
+  @Input
+  public abstract Property<Boolean> getChangedVersionsOnly();
+
+  /**
+   * The version of each module of the compile classpath, by {@code group:name}, against which the
+   * runtime artifacts are compared when {@link #getChangedVersionsOnly() only changed versions} are
+   * checked. Empty otherwise, so that the compile classpath is not resolved needlessly.
+   *
+   * @return The compile module versions.
+   */
+  @Input
+  public abstract MapProperty<String, String> getCompileModuleVersions();
+
+  /**
+   * Whether only the artifacts whose requested dependency versions were replaced during resolution
+   * are checked, and only against the versions selected in their place.
+   *
+   * @return Whether to only check replaced dependencies.
+   */
+  @Input
+  public abstract Property<Boolean> getConflictResolutionOnly();
+
+  /**
+   * Whether a changed classpath is only rechecked where it changed, reusing the conflicts of the
+   * previous check kept in the {@link #getStateDirectory() state directory}.
+   *
+   * @return Whether to recheck the classpath incrementally.
+   */
+  @Input
+  public abstract Property<Boolean> getIncrementalClasspath();
+
+  /**
+   * The categories of the conflicts to report, named as in {@link Conflict.ConflictCategory}, e.g.
+   * {@code CLASS_NOT_FOUND}. Every category is reported if none are configured. The references
+   * that can only cause conflicts of other categories are not resolved at all.
+   *
+   * @return The included conflict categories.
+   */
+  @Input
+  public abstract ListProperty<String> getIncludeCategories();
+
+  /**
+   * The packages whose classes' conflicts are ignored. A package, e.g. {@code com.example}, only
+   * matches itself, whereas {@code com.example.*} also matches its subpackages and a {@code *}
+   * segment, e.g. {@code com.*.internal}, matches any one package name.
+   *
+   * @return The ignored source packages.
+   */
   @Input
   public abstract ListProperty<String> getIgnoreSourcePackages();
 
+  /**
+   * The packages whose classes are ignored when conflicts name them, using the same patterns as
+   * {@link #getIgnoreSourcePackages()}.
+   *
+   * @return The ignored destination packages.
+   */
   @Input
   public abstract ListProperty<String> getIgnoreDestinationPackages();
 
+  @Input
+  public abstract ListProperty<String> getExcludeDependencies();
+
   @Classpath
   public abstract ConfigurableFileCollection getClasspath();
 
+  /**
+   * The resolved artifacts of the runtime classpath, from which each artifact's coordinates are
+   * read. The artifacts of excluded modules are not resolved at all. Their files are tracked
+   * through {@link #getClasspath()}.
+   *
+   * @return The resolved runtime artifacts.
+   */
+  @Internal
+  public abstract SetProperty<ResolvedArtifactResult> getRuntimeArtifacts();
+
+  /**
+   * The root of the runtime classpath's dependency graph, which identifies the module owning each
+   * of the {@link #getRuntimeArtifacts() runtime artifacts}.
+   *
+   * @return The root component of the runtime classpath.
+   */
+  @Internal
+  public abstract Property<ResolvedComponentResult> getRuntimeRootComponent();
+
+  /**
+   * The resolved artifacts of the runtime classpath's index view.
+   *
+   * @return The resolved artifact indexes.
+   */
+  @Internal
+  public abstract SetProperty<ResolvedArtifactResult> getIndexArtifacts();
+
+  /**
+   * The directories containing the project's compiled classes.
+   *
+   * <p>Method bodies are analysed, so the directories are fingerprinted with runtime classpath
+   * normalization rather than the ABI-only normalization of a compile classpath.
+   *
+   * @return The classes directories.
+   */
+  @Classpath
+  @Incremental
+  public abstract ConfigurableFileCollection getClassesDirectories();
+
+  /**
+   * The directory in which the result of the previous check is kept for incremental rechecks.
+   *
+   * @return The state directory.
+   */
+  @LocalState
+  public abstract DirectoryProperty getStateDirectory();
+
+  /**
+   * The version of the Java runtime whose bootstrap classes the classpath is checked against.
+   *
+   * @return The Java runtime version.
+   */
+  @Input
+  public abstract Property<String> getJavaRuntimeVersion();
+
+  /**
+   * The file to which the conflicts found are written, whether or not any report is required.
+   *
+   * @return The result file.
+   */
+  @OutputFile
+  public abstract RegularFileProperty getResultFile();
+
+  @Internal
+  public abstract Property<Integer> getParallelism();
+
+  @Internal
+  public abstract Property<Integer> getCheckBatchSize();
+
+  @Internal
+  public abstract DirectoryProperty getBootstrapSnapshotDirectory();
+
+  @Internal
+  public abstract Property<ArtifactRegistry> getArtifactRegistry();
+
+  @Internal
+  public abstract Property<Integer> getWarmCacheSize();
+
+  @Internal
+  public abstract Property<String> getIsolation();
+
+  @Internal
+  public abstract Property<String> getMaxHeapSize();
+
+  @Internal
+  public abstract ListProperty<String> getJvmArgs();
+
+  @Inject
+  protected abstract WorkerExecutor getWorkerExecutor();
+
   private final MissingLinkReports reports;
 
   @SuppressWarnings("InjectOnConstructorOfAbstractClass")
   @SuppressFBWarnings("CT_CONSTRUCTOR_THROW")
   @Inject
-  public MissingLinkTask(Project project, ObjectFactory objectFactory) {
-    reports = objectFactory.newInstance(MissingLinkReportsImpl.class, project, objectFactory);
+  public MissingLinkTask(ObjectFactory objectFactory, ProjectLayout layout) {
+    reports =
+        objectFactory.newInstance(
+            MissingLinkReportsImpl.class,
+            new MissingLinkReportsImpl.Owner("Task '" + getPath() + "'"),
+            layout,
+            objectFactory);
     dependsOn("classes");
   }
 
@@ -78,84 +306,162 @@ public abstract class MissingLinkTask extends DefaultTask implements Reporting<M
   }
 
   @TaskAction
-  public void runMissingLinkCheck() throws IOException {
+  public void runMissingLinkCheck(InputChanges inputChanges) {
     getLogger().lifecycle("Running MissingLink dependency conflict check...");
 
-    var exclusions = new MissingLinkExclusions(getProject());
-    var artifacts = new ClasspathArtifacts(getProject()).filter(exclusions);
-    var bootstraps = new BootstrapArtifacts();
-
-    ConflictChecker checker = new ConflictChecker();
-
-    var conflicts =
-        checker.check(
-            new ArtifactLoader()
-                .load(
-                    getProject()
-                        .getLayout()
-                        .getBuildDirectory()
-                        .dir("classes/java/main")
-                        .get()
-                        .getAsFile()),
-            artifacts.toMissingLinkArtifacts(),
-            Stream.concat(
-                    artifacts.toMissingLinkArtifacts().stream(),
-                    bootstraps.toMissingLinkArtifacts().stream())
-                .toList());
-
-    conflicts = filterConflicts(conflicts);
-
-    if (!conflicts.isEmpty()) {
-      getLogger().error("{} conflicts found!", conflicts.size());
-
-      if (reports.getHtml().getRequired().get()) {
-        System.out.println("Html enabled");
-        new HTMLReport(conflicts)
-            .writeToFile(reports.getHtml().getOutputLocation().get().getAsFile());
-      }
-      if (reports.getXml().getRequired().get()) {
-        System.out.println("xml enabled");
-        new XMLReport(conflicts)
-            .writeToFile(reports.getXml().getOutputLocation().get().getAsFile());
+    String reachability = getReachability().get();
+    if (!List.of(REACHABILITY_CLASS, REACHABILITY_METHOD).contains(reachability)) {
+      throw new GradleException(
+          "Unknown MissingLink reachability mode '%s', expected one of %s"
+              .formatted(reachability, List.of(REACHABILITY_CLASS, REACHABILITY_METHOD)));
+    }
+
+    String engine = getEngine().get();
+    List<String> engines = List.of(ENGINE_SPOTIFY, ENGINE_PREFILTERED, ENGINE_INDEXED);
+    if (!engines.contains(engine)) {
+      throw new GradleException(
+          "Unknown MissingLink engine '%s', expected one of %s".formatted(engine, engines));
+    }
+
+    int checkBatchSize = getCheckBatchSize().get();
+    if (checkBatchSize < 0) {
+      throw new GradleException(
+          "Invalid MissingLink check batch size %d, expected 0 or more".formatted(checkBatchSize));
+    }
+    if (checkBatchSize > 0
+        && (!engine.equals(ENGINE_INDEXED) || !reachability.equals(REACHABILITY_CLASS))) {
+      throw new GradleException(
+          "Streaming MissingLink checks require the '%s' engine and '%s' reachability"
+              .formatted(ENGINE_INDEXED, REACHABILITY_CLASS));
+    }
+
+    Set<Conflict.ConflictCategory> categories = EnumSet.noneOf(Conflict.ConflictCategory.class);
+    for (String category : getIncludeCategories().get()) {
+      try {
+        categories.add(Conflict.ConflictCategory.valueOf(category));
+      } catch (IllegalArgumentException e) {
+        throw new GradleException(
+            "Unknown MissingLink conflict category '%s', expected one of %s"
+                .formatted(category, List.of(Conflict.ConflictCategory.values())),
+            e);
       }
-      if (reports.getSarif().getRequired().get()) {
-        System.out.println("sarif enabled");
-        new SARIFReport(conflicts)
-            .writeToFile(reports.getSarif().getOutputLocation().get().getAsFile());
+    }
+    if (categories.isEmpty()) {
+      categories.addAll(EnumSet.allOf(Conflict.ConflictCategory.class));
+    }
+
+    var exclusions = new MissingLinkExclusions(getExcludeDependencies().get());
+    var runtimeArtifacts = getRuntimeArtifacts().get();
+    var artifacts =
+        new ClasspathArtifacts(runtimeArtifacts, getRuntimeRootComponent().get())
+            .filter(exclusions);
+    Set<String> changedArtifacts = new HashSet<>();
+    if (getChangedVersionsOnly().get()) {
+      for (MissingLinkArtifact artifact :
+          artifacts.changedSince(getCompileModuleVersions().get()).artifacts()) {
+        changedArtifacts.add(artifact.toArtifactName().name());
       }
+      getLogger()
+          .info(
+              "{} of {} artifacts changed version since compilation",
+              changedArtifacts.size(),
+              artifacts.artifacts().size());
+    }
+    Set<ResolvedEdge> resolvedEdges = new HashSet<>();
+    if (getConflictResolutionOnly().get()) {
+      resolvedEdges.addAll(ClasspathArtifacts.resolvedEdgesOf(getRuntimeRootComponent().get()));
+      getLogger()
+          .info("{} dependency versions were replaced during resolution", resolvedEdges.size());
+    }
+    var indexes = ClasspathArtifacts.indexesOf(runtimeArtifacts, getIndexArtifacts().get());
 
-      if (getFailOnConflicts().get()) {
-        throw new GradleException("MissingLink found conflicts!");
+    Map<String, File> changedClasses = new HashMap<>();
+    Set<String> removedClasses = new HashSet<>();
+    if (inputChanges.isIncremental()) {
+      for (FileChange change : inputChanges.getFileChanges(getClassesDirectories())) {
+        String path = change.getNormalizedPath();
+        if (change.getFileType() != FileType.FILE || !path.endsWith(".class")) {
+          continue;
+        }
+        String className = path.substring(0, path.length() - ".class".length()).replace('/', '.');
+        if (change.getChangeType() == ChangeType.REMOVED) {
+          removedClasses.add(className);
+        } else {
+          changedClasses.put(className, change.getFile());
+        }
       }
-    } else {
-      getLogger().lifecycle("No conflicts found.");
     }
-  }
 
-  private List<Conflict> filterConflicts(List<Conflict> conflicts) {
-    List<String> ignoreSource = getIgnoreSourcePackages().get();
-    List<String> ignoreDestination = getIgnoreDestinationPackages().get();
-
-    return conflicts.stream()
-        .filter(
-            conflict ->
-                !ignoreSource.contains(
-                    extractPackageName(conflict.dependency().fromClass().getClassName())))
-        .filter(
-            conflict ->
-                !ignoreDestination.contains(
-                    extractPackageName(conflict.dependency().targetClass().getClassName())))
-        .collect(Collectors.toList());
+    workQueue()
+        .submit(
+            MissingLinkWorkAction.class,
+            parameters -> {
+              parameters.getArtifacts().set(artifacts.artifacts());
+              parameters.getIndexes().set(indexes);
+              parameters.getClassesDirectories().from(getClassesDirectories());
+              parameters.getIncremental().set(inputChanges.isIncremental());
+              parameters.getChangedClasses().set(changedClasses);
+              parameters.getRemovedClasses().set(removedClasses);
+              parameters.getStateDirectory().set(getStateDirectory());
+              parameters.getBootstrapSnapshotDirectory().set(getBootstrapSnapshotDirectory());
+              if (getIsolation().get().equals(ISOLATION_NONE)) {
+                parameters.getArtifactRegistry().set(getArtifactRegistry());
+              }
+              parameters.getReachability().set(reachability);
+              parameters.getEngine().set(engine);
+              parameters.getEntryPoints().set(getEntryPoints());
+              parameters.getParallelism().set(getParallelism());
+              parameters.getCheckBatchSize().set(checkBatchSize);
+              parameters.getChangedVersionsOnly().set(getChangedVersionsOnly());
+              parameters.getChangedArtifacts().set(changedArtifacts);
+              parameters.getConflictResolutionOnly().set(getConflictResolutionOnly());
+              parameters.getResolvedEdges().set(resolvedEdges);
+              parameters.getIncrementalClasspath().set(getIncrementalClasspath());
+              parameters.getIncludeCategories().set(categories);
+              parameters.getWarmCacheSize().set(getWarmCacheSize());
+              parameters.getIgnoreSourcePackages().set(getIgnoreSourcePackages());
+              parameters.getIgnoreDestinationPackages().set(getIgnoreDestinationPackages());
+              parameters.getFailOnConflicts().set(getFailOnConflicts());
+              parameters.getResultFile().set(getResultFile());
+              if (reports.getHtml().getRequired().get()) {
+                parameters.getHtmlReport().set(reports.getHtml().getOutputLocation());
+              }
+              if (reports.getXml().getRequired().get()) {
+                parameters.getXmlReport().set(reports.getXml().getOutputLocation());
+              }
+              if (reports.getSarif().getRequired().get()) {
+                parameters.getSarifReport().set(reports.getSarif().getOutputLocation());
+              }
+            });
   }
 
   /**
-   * Extracts the package name from a fully qualified class name.
+   * Creates the work queue for the configured isolation mode.
    *
-   * @param className The fully qualified class name (e.g., "com.example.MyClass").
-   * @return The package name (e.g., "com.example"), or an empty string if there is no package.
+   * @return The work queue on which the check is submitted.
    */
-  private String extractPackageName(String className) {
-    int lastDot = className.lastIndexOf('.');
-    return (lastDot == -1) ? "" : className.substring(0, lastDot);
+  private WorkQueue workQueue() {
+    String isolation = getIsolation().get();
+    return switch (isolation) {
+      case ISOLATION_NONE -> getWorkerExecutor().noIsolation();
+      case ISOLATION_CLASSLOADER -> getWorkerExecutor().classLoaderIsolation();
+      case ISOLATION_PROCESS ->
+          getWorkerExecutor()
+              .processIsolation(
+                  spec ->
+                      spec.forkOptions(
+                          options -> {
+                            if (getMaxHeapSize().isPresent()) {
+                              options.setMaxHeapSize(getMaxHeapSize().get());
+                            }
+                            options.jvmArgs(getJvmArgs().get());
+                          }));
+      default ->
+          throw new GradleException(
+              "Unknown MissingLink isolation mode '%s', expected one of %s"
+                  .formatted(
+                      isolation,
+                      List.of(ISOLATION_NONE, ISOLATION_CLASSLOADER, ISOLATION_PROCESS)));
+    };
   }
 }
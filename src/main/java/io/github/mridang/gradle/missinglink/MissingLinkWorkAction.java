@@ -0,0 +1,531 @@
+package io.github.mridang.gradle.missinglink;
+
+import com.spotify.missinglink.ArtifactLoader;
+import com.spotify.missinglink.ClassLoader;
+import com.spotify.missinglink.Conflict;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactBuilder;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import io.github.mridang.gradle.missinglink.analysis.ClasspathBaseline;
+import io.github.mridang.gradle.missinglink.analysis.IncrementalState;
+import io.github.mridang.gradle.missinglink.analysis.MethodReachability;
+import io.github.mridang.gradle.missinglink.analysis.Reachability;
+import io.github.mridang.gradle.missinglink.artifacts.ArtifactRegistry;
+import io.github.mridang.gradle.missinglink.artifacts.BootstrapArtifacts;
+import io.github.mridang.gradle.missinglink.artifacts.ClassModelInterner;
+import io.github.mridang.gradle.missinglink.artifacts.ClasspathArtifactLoader;
+import io.github.mridang.gradle.missinglink.artifacts.ClasspathArtifacts;
+import io.github.mridang.gradle.missinglink.artifacts.LazyArtifact;
+import io.github.mridang.gradle.missinglink.artifacts.WarmArtifactCache;
+import io.github.mridang.gradle.missinglink.checker.BaselineConflictChecker;
+import io.github.mridang.gradle.missinglink.checker.CategoryConflictChecker;
+import io.github.mridang.gradle.missinglink.checker.ChangedArtifactsConflictChecker;
+import io.github.mridang.gradle.missinglink.checker.IgnoredSourcesConflictChecker;
+import io.github.mridang.gradle.missinglink.checker.IndexedConflictChecker;
+import io.github.mridang.gradle.missinglink.checker.MissingLinkChecker;
+import io.github.mridang.gradle.missinglink.checker.PrefilteringConflictChecker;
+import io.github.mridang.gradle.missinglink.checker.ResolvedEdgeConflictChecker;
+import io.github.mridang.gradle.missinglink.checker.ShardedConflictChecker;
+import io.github.mridang.gradle.missinglink.checker.SpotifyConflictChecker;
+import io.github.mridang.gradle.missinglink.reports.HTMLReport;
+import io.github.mridang.gradle.missinglink.reports.SARIFReport;
+import io.github.mridang.gradle.missinglink.reports.XMLReport;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.gradle.api.GradleException;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.workers.WorkAction;
+
+/**
+ * Loads the classpath and checks it for conflicts.
+ *
+ * <p>The analysis runs as a Gradle work action so that it can run in parallel with other tasks and,
+ * when process isolation is configured, outside of the daemon's heap.
+ */
+public abstract class MissingLinkWorkAction implements WorkAction<MissingLinkWorkParameters> {
+
+  private static final Logger LOGGER = Logging.getLogger(MissingLinkWorkAction.class);
+  private static final String STREAMING_VARIANT = "streaming";
+
+  private List<Artifact> loadedClasspath = List.of();
+
+  @Override
+  public void execute() {
+    try {
+      analyse();
+    } finally {
+      release(loadedClasspath);
+    }
+  }
+
+  private void analyse() {
+    MissingLinkWorkParameters parameters = getParameters();
+    ArtifactRegistry registry = parameters.getArtifactRegistry().getOrNull();
+    WarmArtifactCache warmCache = WarmArtifactCache.instance();
+    warmCache.resize(parameters.getWarmCacheSize().get() * 1024L * 1024L);
+    WarmArtifactCache.Usage warmCacheUsage = warmCache.usage();
+
+    int checkBatchSize = parameters.getCheckBatchSize().get();
+    boolean streaming = checkBatchSize > 0;
+    // A streaming check drops each batch once checked, so there is little to share by interning.
+    String variant = streaming ? STREAMING_VARIANT : ClassModelInterner.VARIANT;
+    ClasspathArtifactLoader parsing =
+        ClasspathArtifactLoader.indexed(
+            parameters.getIndexes().get(), ClasspathArtifactLoader.lazy());
+    ClasspathArtifactLoader loader =
+        warmCache.share(
+            ClasspathArtifactLoader.memoizing(
+                streaming ? parsing : ClassModelInterner.interning(parsing)),
+            variant,
+            warmCacheUsage);
+    Supplier<BootstrapArtifacts> bootstrapLoader =
+        () ->
+            warmCache.bootstrap(
+                variant,
+                () -> {
+                  BootstrapArtifacts loaded =
+                      BootstrapArtifacts.fromSnapshot(
+                          parameters.getBootstrapSnapshotDirectory().get().getAsFile());
+                  return streaming ? loaded : new ClassModelInterner().intern(loaded);
+                },
+                warmCacheUsage);
+    if (registry != null) {
+      loader = registry.share(loader, variant);
+    }
+
+    var artifacts = new ClasspathArtifacts(parameters.getArtifacts().get(), loader);
+    var bootstraps =
+        registry != null ? registry.bootstrap(variant, bootstrapLoader) : bootstrapLoader.get();
+    loadedClasspath =
+        artifacts.toMissingLinkArtifacts(parameters.getParallelism().get());
+    List<Artifact> classpath = streaming ? withoutRetention(loadedClasspath) : loadedClasspath;
+    List<Artifact> bootstrapArtifacts =
+        streaming
+            ? withoutRetention(bootstraps.toMissingLinkArtifacts())
+            : bootstraps.toMissingLinkArtifacts();
+    if (streaming) {
+      LOGGER.info("Streaming the check in batches of {} classes", checkBatchSize);
+    }
+
+    var warmCacheStats = warmCache.stats();
+    LOGGER.info(
+        "Warm artifact cache: {} hits, {} misses, {} evictions for this check;"
+            + " {} entries (~{} MB) held by the daemon",
+        warmCacheUsage.hits(),
+        warmCacheUsage.misses(),
+        warmCacheUsage.evictions(),
+        warmCacheStats.entries(),
+        warmCacheStats.weight() / (1024 * 1024));
+
+    String reachability = parameters.getReachability().get();
+    List<String> entryPoints = parameters.getEntryPoints().get();
+    File stateDirectory = parameters.getStateDirectory().get().getAsFile();
+    IncrementalState previous =
+        parameters.getIncremental().get()
+                && reachability.equals(MissingLinkTask.REACHABILITY_CLASS)
+                && entryPoints.isEmpty()
+            ? IncrementalState.read(stateDirectory)
+            : null;
+    // The previous conflicts are only comparable if they were found by a full, unfiltered check.
+    boolean incrementalClasspath =
+        parameters.getIncrementalClasspath().get()
+            && reachability.equals(MissingLinkTask.REACHABILITY_CLASS)
+            && entryPoints.isEmpty()
+            && !parameters.getChangedVersionsOnly().get()
+            && !parameters.getConflictResolutionOnly().get();
+    // A classpath baseline is reused across changes to the included categories and ignored
+    // packages, so it keeps every conflict, whereas project rechecks only reuse a state found with
+    // the same categories and ignored packages.
+    Set<Conflict.ConflictCategory> categories =
+        incrementalClasspath
+            ? EnumSet.allOf(Conflict.ConflictCategory.class)
+            : parameters.getIncludeCategories().get();
+    boolean resolvesMembers =
+        categories.contains(Conflict.ConflictCategory.METHOD_SIGNATURE_NOT_FOUND)
+            || categories.contains(Conflict.ConflictCategory.FIELD_NOT_FOUND);
+
+    boolean indexed = parameters.getEngine().get().equals(MissingLinkTask.ENGINE_INDEXED);
+    boolean prefiltered =
+        parameters.getEngine().get().equals(MissingLinkTask.ENGINE_PREFILTERED);
+    MissingLinkChecker engine =
+        indexed
+            ? new IndexedConflictChecker()
+            : prefiltered && resolvesMembers
+                ? new PrefilteringConflictChecker(new SpotifyConflictChecker())
+                : new SpotifyConflictChecker();
+    if (!categories.containsAll(EnumSet.allOf(Conflict.ConflictCategory.class))) {
+      LOGGER.info("Checking for {} conflicts only", categories);
+      engine = new CategoryConflictChecker(engine, categories);
+    }
+    if (parameters.getChangedVersionsOnly().get()) {
+      LOGGER.info(
+          "Checking references into {} changed artifacts",
+          parameters.getChangedArtifacts().get().size());
+      engine = new ChangedArtifactsConflictChecker(engine, parameters.getChangedArtifacts().get());
+    }
+    if (parameters.getConflictResolutionOnly().get()) {
+      LOGGER.info(
+          "Checking {} dependency versions replaced during resolution",
+          parameters.getResolvedEdges().get().size());
+      engine = new ResolvedEdgeConflictChecker(engine, parameters.getResolvedEdges().get());
+    }
+    PackageTrie ignoredSources = packages(parameters.getIgnoreSourcePackages().get());
+    if (!incrementalClasspath && !parameters.getIgnoreSourcePackages().get().isEmpty()) {
+      engine =
+          new IgnoredSourcesConflictChecker(
+              engine, className -> ignoredSources.matchesPackageOf(className.getClassName()));
+    }
+    // Only the indexed engine prepares state that its shards share, whereas every Spotify check
+    // rebuilds its own model of the whole classpath, so Spotify shards would each hold a copy.
+    int parallelism = indexed ? parameters.getParallelism().get() : 1;
+    MissingLinkChecker checker = new ShardedConflictChecker(engine, parallelism, checkBatchSize);
+    List<Artifact> allArtifacts =
+        Stream.concat(classpath.stream(), bootstrapArtifacts.stream()).toList();
+    ClasspathBaseline baseline =
+        incrementalClasspath ? ClasspathBaseline.read(stateDirectory) : null;
+    List<ClasspathBaseline.Fingerprint> fingerprints =
+        incrementalClasspath
+            ? ClasspathBaseline.fingerprint(
+                parameters.getArtifacts().get(),
+                bootstrapArtifacts,
+                System.getProperty("java.runtime.version"),
+                baseline)
+            : List.of();
+
+    Map<ClassTypeDescriptor, DeclaredClass> classesByName = Reachability.classesOf(allArtifacts);
+    Artifact project;
+    List<Conflict> conflicts;
+    Set<ClassTypeDescriptor> checked = Set.of();
+    if (previous == null) {
+      project = loadProjectClasses(parameters.getClassesDirectories().getFiles());
+      List<DeclaredClass> entryClasses = entryClasses(project, entryPoints);
+      LOGGER.info("Checking from {} entry classes", entryClasses.size());
+      Map<ClassTypeDescriptor, DeclaredClass> projectAndClassesByName =
+          Reachability.classesOf(
+              Stream.concat(Stream.of(project), allArtifacts.stream()).toList());
+      if (reachability.equals(MissingLinkTask.REACHABILITY_METHOD)) {
+        var reachable =
+            MethodReachability.reachableMethods(
+                entryClasses,
+                projectAndClassesByName,
+                className ->
+                    bootstrapArtifacts.stream()
+                        .anyMatch(artifact -> artifact.classes().containsKey(className)));
+        LOGGER.info(
+            "Checking {} reachable methods",
+            reachable.values().stream().mapToInt(Set::size).sum());
+        conflicts =
+            checker.check(
+                project,
+                MethodReachability.restrict(classpath, reachable),
+                MethodReachability.restrict(allArtifacts, reachable));
+      } else {
+        checked = Reachability.reachableClasses(entryClasses, projectAndClassesByName);
+        IncrementalState prior = baseline != null ? IncrementalState.read(stateDirectory) : null;
+        if (prior != null) {
+          Set<ClassTypeDescriptor> stable =
+              baseline.stableClasses(fingerprints, allArtifacts, classesByName, checked);
+          LOGGER.info(
+              "Rechecking {} of {} reachable classes against the changed classpath",
+              checked.size() - stable.size(),
+              checked.size());
+          conflicts =
+              ClasspathBaseline.mergeConflicts(
+                  check(
+                      new ShardedConflictChecker(
+                          new BaselineConflictChecker(engine, stable),
+                          parallelism,
+                          checkBatchSize),
+                      project,
+                      checked,
+                      classpath,
+                      allArtifacts),
+                  prior.conflicts(),
+                  stable);
+        } else {
+          conflicts = check(checker, project, checked, classpath, allArtifacts);
+        }
+      }
+    } else {
+      List<DeclaredClass> changed = loadChangedClasses(parameters.getChangedClasses().get());
+      project = previous.updateProject(changed, parameters.getRemovedClasses().get());
+      LOGGER.info(
+          "Incrementally rechecking {} changed and {} removed classes",
+          changed.size(),
+          parameters.getRemovedClasses().get().size());
+      Artifact changedProject =
+          new ArtifactBuilder()
+              .name(project.name())
+              .classes(
+                  changed.stream()
+                      .collect(Collectors.toMap(DeclaredClass::className, clazz -> clazz)))
+              .build();
+      checked = Reachability.reachableClasses(project.classes().values(), classesByName);
+      conflicts =
+          previous.mergeConflicts(
+              check(
+                  checker,
+                  changedProject,
+                  Reachability.reachableClasses(changed, classesByName),
+                  classpath,
+                  allArtifacts),
+              checked);
+    }
+
+    try {
+      new IncrementalState(project, conflicts).write(stateDirectory);
+    } catch (IOException e) {
+      LOGGER.warn("Failed to write the MissingLink state to {}", stateDirectory, e);
+      IncrementalState.delete(stateDirectory);
+    }
+    if (incrementalClasspath) {
+      try {
+        ClasspathBaseline.of(fingerprints, checked, allArtifacts).write(stateDirectory);
+      } catch (IOException e) {
+        LOGGER.warn("Failed to write the MissingLink baseline to {}", stateDirectory, e);
+        ClasspathBaseline.delete(stateDirectory);
+      }
+    } else {
+      ClasspathBaseline.delete(stateDirectory);
+    }
+
+    conflicts = filterConflicts(conflicts, ignoredSources);
+    writeResult(conflicts, parameters.getResultFile().get().getAsFile());
+
+    if (!conflicts.isEmpty()) {
+      LOGGER.error("{} conflicts found!", conflicts.size());
+
+      if (parameters.getHtmlReport().isPresent()) {
+        new HTMLReport(conflicts).writeToFile(parameters.getHtmlReport().get().getAsFile());
+      }
+      if (parameters.getXmlReport().isPresent()) {
+        new XMLReport(conflicts).writeToFile(parameters.getXmlReport().get().getAsFile());
+      }
+      if (parameters.getSarifReport().isPresent()) {
+        new SARIFReport(conflicts).writeToFile(parameters.getSarifReport().get().getAsFile());
+      }
+
+      if (parameters.getFailOnConflicts().get()) {
+        throw new GradleException("MissingLink found conflicts!");
+      }
+    } else {
+      LOGGER.lifecycle("No conflicts found.");
+    }
+  }
+
+  /**
+   * Checks the reachable classpath classes for conflicts.
+   *
+   * <p>Only the reachable classes are handed to the checker, so that classes of lazily loaded
+   * artifacts which the project can never reach are not parsed at all.
+   *
+   * @param checker The conflict checker.
+   * @param project The project classes.
+   * @param reachable The classes reachable from the project classes.
+   * @param classpath The classpath artifacts to check.
+   * @param allArtifacts The classpath and bootstrap artifacts against which calls are resolved.
+   * @return The conflicts found.
+   */
+  private List<Conflict> check(
+      MissingLinkChecker checker,
+      Artifact project,
+      Set<ClassTypeDescriptor> reachable,
+      List<Artifact> classpath,
+      List<Artifact> allArtifacts) {
+    LOGGER.info("Checking {} reachable classpath classes", reachable.size());
+    return checker.check(
+        project,
+        Reachability.restrict(classpath, reachable),
+        Reachability.restrict(allArtifacts, reachable));
+  }
+
+  /**
+   * Releases the jars opened to parse the classes of lazy artifacts. Artifacts shared with other
+   * checks, e.g. through the warm cache, reopen their jar if they parse another class.
+   *
+   * @param artifacts The loaded artifacts.
+   */
+  private static void release(List<Artifact> artifacts) {
+    for (Artifact artifact : artifacts) {
+      if (artifact instanceof LazyArtifact lazy) {
+        try {
+          lazy.close();
+        } catch (IOException e) {
+          LOGGER.debug("Failed to close {}", lazy.name().name(), e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Replaces lazy artifacts by views which parse their classes on every lookup and keep none of
+   * them, so that a streaming check only holds the classes it is working on.
+   *
+   * @param artifacts The loaded artifacts.
+   * @return The artifacts, with views in place of lazy artifacts.
+   */
+  private static List<Artifact> withoutRetention(List<Artifact> artifacts) {
+    return artifacts.stream()
+        .map(
+            artifact ->
+                artifact instanceof LazyArtifact lazy
+                    ? new LazyArtifact(lazy.name(), lazy.classes().withoutRetention())
+                    : artifact)
+        .toList();
+  }
+
+  /**
+   * Selects the project classes from which the classpath is reached.
+   *
+   * <p>An entry point names either a class, e.g. {@code com.example.Main}, or a package and its
+   * subpackages, e.g. {@code com.example.api.*}. Without entry points, every project class is an
+   * entry class.
+   *
+   * @param project The project classes.
+   * @param entryPoints The configured entry points.
+   * @return The entry classes.
+   */
+  static List<DeclaredClass> entryClasses(Artifact project, List<String> entryPoints) {
+    if (entryPoints.isEmpty()) {
+      return List.copyOf(project.classes().values());
+    }
+    return project.classes().values().stream()
+        .filter(clazz -> isEntryClass(clazz.className().getClassName(), entryPoints))
+        .toList();
+  }
+
+  private static boolean isEntryClass(String className, List<String> entryPoints) {
+    for (String entryPoint : entryPoints) {
+      if (entryPoint.endsWith(".*")
+          ? className.startsWith(entryPoint.substring(0, entryPoint.length() - 1))
+          : className.equals(entryPoint)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Loads the project's classes, merging the classes of all existing classes directories.
+   *
+   * @param classesDirectories The directories containing the project's compiled classes.
+   * @return The project artifact.
+   */
+  private Artifact loadProjectClasses(Set<File> classesDirectories) {
+    ArtifactLoader artifactLoader = new ArtifactLoader();
+    Map<ClassTypeDescriptor, DeclaredClass> classes = new HashMap<>();
+    for (File classesDirectory : classesDirectories) {
+      if (!classesDirectory.isDirectory()) {
+        continue;
+      }
+      try {
+        classes.putAll(artifactLoader.load(classesDirectory).classes());
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to load the project classes", e);
+      }
+    }
+    return new ArtifactBuilder().name(new ArtifactName("project")).classes(classes).build();
+  }
+
+  /**
+   * Writes one line per conflict to the result file, which is the task's output when no report is
+   * required.
+   *
+   * @param conflicts The conflicts found.
+   * @param resultFile The file to write.
+   */
+  private void writeResult(List<Conflict> conflicts, File resultFile) {
+    List<String> lines =
+        conflicts.stream()
+            .map(
+                conflict ->
+                    "%s %s -> %s: %s"
+                        .formatted(
+                            conflict.category(),
+                            conflict.usedBy().name(),
+                            conflict.existsIn().name(),
+                            conflict.dependency().describe()))
+            .sorted()
+            .toList();
+    try {
+      Files.createDirectories(resultFile.toPath().getParent());
+      Files.write(resultFile.toPath(), lines, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write the MissingLink result", e);
+    }
+  }
+
+  /**
+   * Parses the class files of the changed project classes.
+   *
+   * @param changedClasses The class file of each changed class, by class name.
+   * @return The parsed classes.
+   */
+  private List<DeclaredClass> loadChangedClasses(Map<String, File> changedClasses) {
+    List<DeclaredClass> classes = new ArrayList<>();
+    for (File classFile : changedClasses.values()) {
+      try (InputStream in = Files.newInputStream(classFile.toPath())) {
+        classes.add(ClassLoader.load(in));
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to load the project class " + classFile, e);
+      }
+    }
+    return classes;
+  }
+
+  /**
+   * Drops the conflicts of categories that are not included, made by classes of ignored source
+   * packages, or naming classes of ignored destination packages.
+   *
+   * @param conflicts The conflicts found.
+   * @param ignoredSources The ignored source packages.
+   * @return The conflicts that are not ignored.
+   */
+  private List<Conflict> filterConflicts(List<Conflict> conflicts, PackageTrie ignoredSources) {
+    PackageTrie ignoredDestinations =
+        packages(getParameters().getIgnoreDestinationPackages().get());
+
+    Set<Conflict.ConflictCategory> categories = getParameters().getIncludeCategories().get();
+
+    return conflicts.stream()
+        .filter(conflict -> categories.contains(conflict.category()))
+        .filter(
+            conflict ->
+                !ignoredSources.matchesPackageOf(conflict.dependency().fromClass().getClassName()))
+        .filter(
+            conflict ->
+                !ignoredDestinations.matchesPackageOf(
+                    conflict.dependency().targetClass().getClassName()))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Compiles package patterns into a trie.
+   *
+   * @param patterns The package patterns, see {@link PackageTrie}.
+   * @return The trie of the patterns.
+   */
+  private static PackageTrie packages(List<String> patterns) {
+    PackageTrie packages = new PackageTrie();
+    for (String pattern : patterns) {
+      packages.add(pattern);
+    }
+    return packages;
+  }
+}
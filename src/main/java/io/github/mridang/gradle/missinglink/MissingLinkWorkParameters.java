@@ -0,0 +1,191 @@
+package io.github.mridang.gradle.missinglink;
+
+import com.spotify.missinglink.Conflict;
+import io.github.mridang.gradle.missinglink.artifacts.ArtifactRegistry;
+import io.github.mridang.gradle.missinglink.artifacts.ResolvedEdge;
+import java.io.File;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.workers.WorkParameters;
+
+/** The parameters of a {@link MissingLinkWorkAction}. */
+public interface MissingLinkWorkParameters extends WorkParameters {
+
+  /**
+   * The classpath artifacts to check, after exclusions have been applied.
+   *
+   * @return The artifacts to check.
+   */
+  ListProperty<MissingLinkArtifact> getArtifacts();
+
+  /**
+   * The transformed index file of each artifact file that has one.
+   *
+   * @return The artifact indexes.
+   */
+  MapProperty<File, File> getIndexes();
+
+  /**
+   * The directories containing the project's compiled classes.
+   *
+   * @return The classes directories.
+   */
+  ConfigurableFileCollection getClassesDirectories();
+
+  /**
+   * Whether only the {@link #getChangedClasses() changed classes} need to be rechecked, using the
+   * state left by the previous check.
+   *
+   * @return Whether the check is incremental.
+   */
+  Property<Boolean> getIncremental();
+
+  /**
+   * The class file of each added or modified project class, by class name.
+   *
+   * @return The changed project classes.
+   */
+  MapProperty<String, File> getChangedClasses();
+
+  /**
+   * The names of the project classes removed since the previous check.
+   *
+   * @return The removed project classes.
+   */
+  SetProperty<String> getRemovedClasses();
+
+  /**
+   * The directory in which the state of the previous check is kept.
+   *
+   * @return The state directory.
+   */
+  DirectoryProperty getStateDirectory();
+
+  /**
+   * The directory in which JDK bootstrap snapshots are kept.
+   *
+   * @return The snapshot directory.
+   */
+  DirectoryProperty getBootstrapSnapshotDirectory();
+
+  /**
+   * The build-scoped artifact registry, which is only available to actions sharing the daemon.
+   *
+   * @return The artifact registry, if available.
+   */
+  Property<ArtifactRegistry> getArtifactRegistry();
+
+  /**
+   * The granularity of the reachability analysis, see {@link MissingLinkTask#getReachability()}.
+   *
+   * @return The reachability mode.
+   */
+  Property<String> getReachability();
+
+  /**
+   * The engine that resolves the classpath, see {@link MissingLinkTask#getEngine()}.
+   *
+   * @return The checker engine.
+   */
+  Property<String> getEngine();
+
+  /**
+   * The project classes and packages from which the classpath is reached.
+   *
+   * @return The entry points.
+   */
+  ListProperty<String> getEntryPoints();
+
+  Property<Integer> getParallelism();
+
+  /**
+   * The number of classes checked per batch in streaming mode, or {@code 0} to not stream.
+   *
+   * @return The batch size.
+   */
+  Property<Integer> getCheckBatchSize();
+
+  /**
+   * Whether only references into the {@link #getChangedArtifacts() changed artifacts} are checked.
+   *
+   * @return Whether to only check changed versions.
+   */
+  Property<Boolean> getChangedVersionsOnly();
+
+  /**
+   * The names of the artifacts whose version differs from the compile classpath.
+   *
+   * @return The changed artifacts.
+   */
+  SetProperty<String> getChangedArtifacts();
+
+  /**
+   * Whether only the {@link #getResolvedEdges() replaced dependency edges} are checked.
+   *
+   * @return Whether to only check replaced dependencies.
+   */
+  Property<Boolean> getConflictResolutionOnly();
+
+  /**
+   * The dependency edges whose requested version was replaced during resolution.
+   *
+   * @return The replaced dependency edges.
+   */
+  SetProperty<ResolvedEdge> getResolvedEdges();
+
+  /**
+   * Whether a changed classpath is only rechecked where it changed, see {@link
+   * MissingLinkTask#getIncrementalClasspath()}.
+   *
+   * @return Whether to recheck the classpath incrementally.
+   */
+  Property<Boolean> getIncrementalClasspath();
+
+  /**
+   * The categories of the conflicts to report, see {@link MissingLinkTask#getIncludeCategories()}.
+   *
+   * @return The included conflict categories, never empty.
+   */
+  SetProperty<Conflict.ConflictCategory> getIncludeCategories();
+
+  Property<Integer> getWarmCacheSize();
+
+  ListProperty<String> getIgnoreSourcePackages();
+
+  ListProperty<String> getIgnoreDestinationPackages();
+
+  Property<Boolean> getFailOnConflicts();
+
+  /**
+   * The file to which the conflicts found are written.
+   *
+   * @return The result file.
+   */
+  RegularFileProperty getResultFile();
+
+  /**
+   * The output file of the HTML report, if the report is required.
+   *
+   * @return The HTML report file.
+   */
+  RegularFileProperty getHtmlReport();
+
+  /**
+   * The output file of the XML report, if the report is required.
+   *
+   * @return The XML report file.
+   */
+  RegularFileProperty getXmlReport();
+
+  /**
+   * The output file of the SARIF report, if the report is required.
+   *
+   * @return The SARIF report file.
+   */
+  RegularFileProperty getSarifReport();
+}
@@ -0,0 +1,101 @@
+package io.github.mridang.gradle.missinglink;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A trie of package patterns, which finds whether any of its patterns matches the package of a
+ * class in a single pass over the class name, without extracting the package name.
+ *
+ * <p>A pattern is either a package, e.g. {@code com.example}, which only matches that package, or
+ * a package followed by {@code .*}, e.g. {@code com.example.*}, which matches that package and all
+ * of its subpackages. A {@code *} segment anywhere else matches any one package name, e.g. {@code
+ * com.*.internal} matches {@code com.example.internal}.
+ */
+final class PackageTrie {
+
+  private final Node root = new Node();
+  private boolean empty = true;
+
+  /**
+   * Adds a package pattern.
+   *
+   * @param pattern The package pattern to add.
+   */
+  void add(String pattern) {
+    boolean subpackages = pattern.endsWith(".*");
+    String packageName = subpackages ? pattern.substring(0, pattern.length() - 2) : pattern;
+    Node node = root;
+    int start = 0;
+    while (start < packageName.length()) {
+      if (start > 0) {
+        node = node.children.computeIfAbsent('.', c -> new Node());
+      }
+      int end = packageName.indexOf('.', start);
+      if (end < 0) {
+        end = packageName.length();
+      }
+      if (end - start == 1 && packageName.charAt(start) == '*') {
+        if (node.wildcard == null) {
+          node.wildcard = new Node();
+        }
+        node = node.wildcard;
+      } else {
+        for (int i = start; i < end; i++) {
+          node = node.children.computeIfAbsent(packageName.charAt(i), c -> new Node());
+        }
+      }
+      start = end + 1;
+    }
+    if (subpackages) {
+      node.subpackages = true;
+    } else {
+      node.exact = true;
+    }
+    empty = false;
+  }
+
+  /**
+   * Checks whether any of the patterns matches the package of the given class.
+   *
+   * @param className The fully qualified class name, e.g. {@code com.example.MyClass}.
+   * @return {@code true} if the class's package matches a pattern, otherwise {@code false}.
+   */
+  boolean matchesPackageOf(String className) {
+    return !empty && matches(root, className, 0, Math.max(className.lastIndexOf('.'), 0));
+  }
+
+  private static boolean matches(Node node, String className, int position, int end) {
+    while (true) {
+      if (node.subpackages && (position == end || className.charAt(position) == '.')) {
+        return true;
+      }
+      if (position == end) {
+        return node.exact;
+      }
+      boolean segmentStart = position == 0 || className.charAt(position - 1) == '.';
+      if (node.wildcard != null && segmentStart && className.charAt(position) != '.') {
+        int segmentEnd = position;
+        while (segmentEnd < end && className.charAt(segmentEnd) != '.') {
+          segmentEnd++;
+        }
+        if (matches(node.wildcard, className, segmentEnd, end)) {
+          return true;
+        }
+      }
+      node = node.children.get(className.charAt(position));
+      if (node == null) {
+        return false;
+      }
+      position++;
+    }
+  }
+
+  private static final class Node {
+
+    private final Map<Character, Node> children = new HashMap<>();
+    private Node wildcard;
+    private boolean exact;
+    private boolean subpackages;
+  }
+}
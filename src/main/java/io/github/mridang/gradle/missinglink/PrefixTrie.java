@@ -0,0 +1,57 @@
+package io.github.mridang.gradle.missinglink;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A character trie of prefixes, which finds whether any of its prefixes starts a string in a single
+ * pass over that string, however many prefixes it holds.
+ */
+final class PrefixTrie {
+
+  private final Node root = new Node();
+  private boolean empty = true;
+
+  /**
+   * Adds a prefix.
+   *
+   * @param prefix The prefix to add.
+   */
+  void add(String prefix) {
+    Node node = root;
+    for (int i = 0; i < prefix.length(); i++) {
+      node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node());
+    }
+    node.terminal = true;
+    empty = false;
+  }
+
+  /**
+   * Checks whether any of the prefixes starts the given value.
+   *
+   * @param value The value to check.
+   * @return {@code true} if a prefix of the value was added, otherwise {@code false}.
+   */
+  boolean matchesPrefixOf(String value) {
+    if (empty) {
+      return false;
+    }
+    Node node = root;
+    for (int i = 0; !node.terminal; i++) {
+      if (i == value.length()) {
+        return false;
+      }
+      node = node.children.get(value.charAt(i));
+      if (node == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static final class Node {
+
+    private final Map<Character, Node> children = new HashMap<>();
+    private boolean terminal;
+  }
+}
@@ -0,0 +1,341 @@
+package io.github.mridang.gradle.missinglink.analysis;
+
+import com.spotify.missinglink.Conflict;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import io.github.mridang.gradle.missinglink.MissingLinkArtifact;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The classpath of a previous check, persisted so that a changed classpath is only rechecked where
+ * it changed.
+ *
+ * <p>Every artifact is fingerprinted by a hash of its content, and every checked class is recorded
+ * with the artifact that declared it. A class is stable if it is still declared by the same,
+ * unchanged artifact, and so are all of its superclasses and interfaces. References from a stable
+ * class into stable classes resolve exactly as they did before, so their previous conflicts stay
+ * valid, and only the references into or out of unstable classes have to be rechecked.
+ *
+ * @param artifacts The fingerprints of the classpath and bootstrap artifacts.
+ * @param owners The name of the artifact declaring each checked class, by class name.
+ */
+public record ClasspathBaseline(List<Fingerprint> artifacts, Map<String, String> owners) {
+
+  private static final Logger LOGGER = Logging.getLogger(ClasspathBaseline.class);
+
+  private static final String BASELINE_FILE = "classpath.bin";
+  private static final int MAGIC = 0x4d4c4342;
+  private static final int VERSION = 1;
+
+  /**
+   * The fingerprint of an artifact.
+   *
+   * @param name The artifact's name, as reported in conflicts.
+   * @param path The artifact's file, or an empty string for bootstrap artifacts.
+   * @param length The length of the file when it was hashed.
+   * @param lastModified The modification time of the file when it was hashed.
+   * @param hash The hash of the file's content, the JDK version for bootstrap artifacts, or an
+   *     empty string for directories, which are always considered changed.
+   */
+  public record Fingerprint(String name, String path, long length, long lastModified, String hash) {
+
+    private String key() {
+      return name + "@" + hash;
+    }
+  }
+
+  public ClasspathBaseline(List<Fingerprint> artifacts, Map<String, String> owners) {
+    this.artifacts = List.copyOf(artifacts);
+    this.owners = Map.copyOf(owners);
+  }
+
+  /**
+   * Creates the baseline of a check.
+   *
+   * @param artifacts The fingerprints of the checked classpath and bootstrap artifacts.
+   * @param checked The classes that were checked.
+   * @param allArtifacts The artifacts declaring the checked classes, in classpath order.
+   * @return The baseline.
+   */
+  public static ClasspathBaseline of(
+      List<Fingerprint> artifacts,
+      Collection<ClassTypeDescriptor> checked,
+      List<Artifact> allArtifacts) {
+    Map<ClassTypeDescriptor, String> declaringArtifacts = ownersOf(allArtifacts);
+    Map<String, String> owners = new HashMap<>();
+    for (ClassTypeDescriptor className : checked) {
+      String owner = declaringArtifacts.get(className);
+      if (owner != null) {
+        owners.put(className.getClassName(), owner);
+      }
+    }
+    return new ClasspathBaseline(artifacts, owners);
+  }
+
+  /**
+   * Fingerprints the classpath and bootstrap artifacts.
+   *
+   * <p>The hash of a file whose path, length and modification time are unchanged since the
+   * previous baseline is reused rather than recomputed.
+   *
+   * @param classpath The classpath artifacts.
+   * @param bootstrap The bootstrap artifacts, which are fingerprinted by the JDK version.
+   * @param runtimeVersion The version of the JDK providing the bootstrap artifacts.
+   * @param previous The previous baseline, if any.
+   * @return The fingerprints of all artifacts.
+   */
+  public static List<Fingerprint> fingerprint(
+      List<MissingLinkArtifact> classpath,
+      List<Artifact> bootstrap,
+      String runtimeVersion,
+      @Nullable ClasspathBaseline previous) {
+    Map<String, Fingerprint> hashed = new HashMap<>();
+    if (previous != null) {
+      for (Fingerprint fingerprint : previous.artifacts()) {
+        hashed.put(fingerprint.path(), fingerprint);
+      }
+    }
+    List<Fingerprint> fingerprints = new ArrayList<>();
+    for (MissingLinkArtifact artifact : classpath) {
+      File file = artifact.file();
+      String path = file.getAbsolutePath();
+      long length = file.length();
+      long lastModified = file.lastModified();
+      Fingerprint known = hashed.get(path);
+      String hash;
+      if (!file.isFile()) {
+        hash = "";
+      } else if (known != null
+          && known.length() == length
+          && known.lastModified() == lastModified) {
+        hash = known.hash();
+      } else {
+        hash = hash(file);
+      }
+      fingerprints.add(
+          new Fingerprint(artifact.toArtifactName().name(), path, length, lastModified, hash));
+    }
+    for (Artifact artifact : bootstrap) {
+      fingerprints.add(new Fingerprint(artifact.name().name(), "", 0, 0, runtimeVersion));
+    }
+    return fingerprints;
+  }
+
+  /**
+   * Selects the reachable classes whose references resolve as they did in this baseline.
+   *
+   * @param fingerprints The fingerprints of the current artifacts.
+   * @param allArtifacts The current classpath and bootstrap artifacts, in classpath order.
+   * @param classesByName The classes of all current artifacts by name.
+   * @param reachable The classes reachable from the project.
+   * @return The stable classes.
+   */
+  public Set<ClassTypeDescriptor> stableClasses(
+      List<Fingerprint> fingerprints,
+      List<Artifact> allArtifacts,
+      Map<ClassTypeDescriptor, DeclaredClass> classesByName,
+      Set<ClassTypeDescriptor> reachable) {
+    Set<String> unchanged = new HashSet<>();
+    for (Fingerprint fingerprint : artifacts) {
+      unchanged.add(fingerprint.key());
+    }
+    Set<String> changedNames = new HashSet<>();
+    for (Fingerprint fingerprint : fingerprints) {
+      if (fingerprint.hash().isEmpty() || !unchanged.contains(fingerprint.key())) {
+        changedNames.add(fingerprint.name());
+      }
+    }
+    LOGGER.info("{} artifacts changed since the previous check", changedNames.size());
+
+    Map<ClassTypeDescriptor, String> currentOwners = ownersOf(allArtifacts);
+    Map<ClassTypeDescriptor, Boolean> stability = new HashMap<>();
+    Set<ClassTypeDescriptor> stable = new HashSet<>();
+    for (ClassTypeDescriptor className : reachable) {
+      if (isStable(className, changedNames, currentOwners, classesByName, stability)) {
+        stable.add(className);
+      }
+    }
+    return stable;
+  }
+
+  private boolean isStable(
+      ClassTypeDescriptor className,
+      Set<String> changedNames,
+      Map<ClassTypeDescriptor, String> currentOwners,
+      Map<ClassTypeDescriptor, DeclaredClass> classesByName,
+      Map<ClassTypeDescriptor, Boolean> stability) {
+    Boolean known = stability.get(className);
+    if (known != null) {
+      return known;
+    }
+    // Marked unstable while its hierarchy is visited, so that a malformed cycle terminates.
+    stability.put(className, false);
+    String owner = currentOwners.get(className);
+    DeclaredClass clazz = classesByName.get(className);
+    boolean stable =
+        owner != null
+            && clazz != null
+            && owner.equals(owners.get(className.getClassName()))
+            && !changedNames.contains(owner);
+    if (stable) {
+      for (ClassTypeDescriptor parent : clazz.parents()) {
+        if (!isStable(parent, changedNames, currentOwners, classesByName, stability)) {
+          stable = false;
+          break;
+        }
+      }
+    }
+    stability.put(className, stable);
+    return stable;
+  }
+
+  /**
+   * Merges the conflicts of a recheck into the conflicts found against this baseline.
+   *
+   * <p>A previous conflict is kept if both the class making the failing reference and the class it
+   * references are stable, as such references were not rechecked. Every other reference was
+   * rechecked, so the rechecked conflicts replace the previous ones.
+   *
+   * @param rechecked The conflicts found by rechecking the unstable references.
+   * @param previous The conflicts found by the previous check.
+   * @param stable The stable classes.
+   * @return The conflicts of the current classpath.
+   */
+  public static List<Conflict> mergeConflicts(
+      List<Conflict> rechecked, List<Conflict> previous, Set<ClassTypeDescriptor> stable) {
+    List<Conflict> merged = new ArrayList<>(rechecked);
+    for (Conflict conflict : previous) {
+      if (stable.contains(conflict.dependency().fromClass())
+          && stable.contains(conflict.dependency().targetClass())) {
+        merged.add(conflict);
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Reads the baseline left by a previous check.
+   *
+   * @param directory The state directory.
+   * @return The previous baseline, or {@code null} if there is none or it cannot be read.
+   */
+  public static @Nullable ClasspathBaseline read(File directory) {
+    File baselineFile = new File(directory, BASELINE_FILE);
+    if (!baselineFile.isFile()) {
+      return null;
+    }
+    try (DataInputStream in =
+        new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(baselineFile.toPath())))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        return null;
+      }
+      List<Fingerprint> artifacts = new ArrayList<>();
+      for (int count = in.readInt(); count > 0; count--) {
+        artifacts.add(
+            new Fingerprint(
+                in.readUTF(), in.readUTF(), in.readLong(), in.readLong(), in.readUTF()));
+      }
+      Map<String, String> owners = new HashMap<>();
+      for (int count = in.readInt(); count > 0; count--) {
+        owners.put(in.readUTF(), in.readUTF());
+      }
+      return new ClasspathBaseline(artifacts, owners);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.info("Ignoring unreadable MissingLink baseline in {}", directory, e);
+      return null;
+    }
+  }
+
+  /**
+   * Writes this baseline, replacing any previous baseline.
+   *
+   * @param directory The state directory.
+   * @throws IOException If the baseline could not be written.
+   */
+  public void write(File directory) throws IOException {
+    Files.createDirectories(directory.toPath());
+    try (DataOutputStream out =
+        new DataOutputStream(
+            new BufferedOutputStream(
+                Files.newOutputStream(new File(directory, BASELINE_FILE).toPath())))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(artifacts.size());
+      for (Fingerprint fingerprint : artifacts) {
+        out.writeUTF(fingerprint.name());
+        out.writeUTF(fingerprint.path());
+        out.writeLong(fingerprint.length());
+        out.writeLong(fingerprint.lastModified());
+        out.writeUTF(fingerprint.hash());
+      }
+      out.writeInt(owners.size());
+      for (Map.Entry<String, String> owner : owners.entrySet()) {
+        out.writeUTF(owner.getKey());
+        out.writeUTF(owner.getValue());
+      }
+    }
+  }
+
+  /**
+   * Deletes any baseline in the given directory, so that the next check runs in full.
+   *
+   * @param directory The state directory.
+   */
+  public static void delete(File directory) {
+    try {
+      Files.deleteIfExists(new File(directory, BASELINE_FILE).toPath());
+    } catch (IOException e) {
+      LOGGER.warn("Failed to delete the MissingLink baseline in {}", directory, e);
+    }
+  }
+
+  private static Map<ClassTypeDescriptor, String> ownersOf(List<Artifact> artifacts) {
+    Map<ClassTypeDescriptor, String> owners = new HashMap<>();
+    for (Artifact artifact : artifacts) {
+      String name = artifact.name().name();
+      for (ClassTypeDescriptor className : artifact.classes().keySet()) {
+        owners.putIfAbsent(className, name);
+      }
+    }
+    return owners;
+  }
+
+  private static String hash(File file) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+        in.transferTo(OutputStream.nullOutputStream());
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to hash the artifact " + file, e);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
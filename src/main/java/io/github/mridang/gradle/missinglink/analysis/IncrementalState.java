@@ -0,0 +1,227 @@
+package io.github.mridang.gradle.missinglink.analysis;
+
+import com.spotify.missinglink.Conflict;
+import com.spotify.missinglink.ConflictBuilder;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactBuilder;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.Dependency;
+import com.spotify.missinglink.datamodel.FieldDependency;
+import com.spotify.missinglink.datamodel.FieldDependencyBuilder;
+import com.spotify.missinglink.datamodel.MethodDependency;
+import com.spotify.missinglink.datamodel.MethodDependencyBuilder;
+import com.spotify.missinglink.datamodel.TypeDescriptors;
+import io.github.mridang.gradle.missinglink.artifacts.ArtifactIndex;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The result of a previous check, persisted so that the next check only has to recheck the project
+ * classes that changed since.
+ *
+ * <p>A conflict belongs to the classpath class that makes the failing call or access, and the
+ * checker always reports every conflict of a class it checks. Rechecking the changed project
+ * classes therefore yields the complete conflicts of every classpath class reachable from them,
+ * while the conflicts of classes only reachable from unchanged project classes stay valid as long
+ * as the classpath does not change.
+ *
+ * @param project The project classes that were checked.
+ * @param conflicts The conflicts found, before ignored destination packages were filtered out.
+ */
+public record IncrementalState(Artifact project, List<Conflict> conflicts) {
+
+  private static final Logger LOGGER = Logging.getLogger(IncrementalState.class);
+
+  private static final String PROJECT_FILE = "project" + ArtifactIndex.EXTENSION;
+  private static final String CONFLICTS_FILE = "conflicts.bin";
+  private static final int MAGIC = 0x4d4c4953;
+  private static final int VERSION = 1;
+  private static final int METHOD_DEPENDENCY = 0;
+  private static final int FIELD_DEPENDENCY = 1;
+
+  public IncrementalState(Artifact project, List<Conflict> conflicts) {
+    this.project = project;
+    this.conflicts = List.copyOf(conflicts);
+  }
+
+  /**
+   * Returns the project classes after replacing the changed and dropping the removed classes.
+   *
+   * @param changed The added or modified project classes.
+   * @param removed The names of the removed project classes.
+   * @return The updated project artifact.
+   */
+  public Artifact updateProject(Collection<DeclaredClass> changed, Set<String> removed) {
+    Map<ClassTypeDescriptor, DeclaredClass> classes = new HashMap<>(project.classes());
+    classes.keySet().removeIf(className -> removed.contains(className.getClassName()));
+    for (DeclaredClass clazz : changed) {
+      classes.put(clazz.className(), clazz);
+    }
+    return new ArtifactBuilder().name(project.name()).classes(classes).build();
+  }
+
+  /**
+   * Merges the conflicts of a recheck into the previous conflicts.
+   *
+   * <p>Every class for which the recheck reported a conflict was checked in full, so its previous
+   * conflicts are replaced. The previous conflicts of any class that is no longer reachable from
+   * the project are dropped.
+   *
+   * @param rechecked The conflicts found by rechecking the changed project classes.
+   * @param reachable The classpath classes reachable from the updated project.
+   * @return The conflicts of the updated project.
+   */
+  public List<Conflict> mergeConflicts(
+      List<Conflict> rechecked, Set<ClassTypeDescriptor> reachable) {
+    Set<ClassTypeDescriptor> recheckedClasses = new HashSet<>();
+    for (Conflict conflict : rechecked) {
+      recheckedClasses.add(conflict.dependency().fromClass());
+    }
+    List<Conflict> merged = new ArrayList<>(rechecked);
+    for (Conflict conflict : conflicts) {
+      ClassTypeDescriptor fromClass = conflict.dependency().fromClass();
+      if (reachable.contains(fromClass) && !recheckedClasses.contains(fromClass)) {
+        merged.add(conflict);
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Reads the state left by a previous check.
+   *
+   * @param directory The state directory.
+   * @return The previous state, or {@code null} if there is none or it cannot be read.
+   */
+  public static @Nullable IncrementalState read(File directory) {
+    File projectFile = new File(directory, PROJECT_FILE);
+    File conflictsFile = new File(directory, CONFLICTS_FILE);
+    if (!projectFile.isFile() || !conflictsFile.isFile()) {
+      return null;
+    }
+    try (DataInputStream in =
+        new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(conflictsFile.toPath())))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        return null;
+      }
+      List<Conflict> conflicts = new ArrayList<>();
+      for (int count = in.readInt(); count > 0; count--) {
+        conflicts.add(readConflict(in));
+      }
+      return new IncrementalState(ArtifactIndex.read(projectFile).get(0), conflicts);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.info("Ignoring unreadable MissingLink state in {}", directory, e);
+      return null;
+    }
+  }
+
+  /**
+   * Writes this state, replacing any previous state.
+   *
+   * @param directory The state directory.
+   * @throws IOException If the state could not be written.
+   */
+  public void write(File directory) throws IOException {
+    Files.createDirectories(directory.toPath());
+    ArtifactIndex.write(List.of(project), new File(directory, PROJECT_FILE));
+    try (DataOutputStream out =
+        new DataOutputStream(
+            new BufferedOutputStream(
+                Files.newOutputStream(new File(directory, CONFLICTS_FILE).toPath())))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(conflicts.size());
+      for (Conflict conflict : conflicts) {
+        writeConflict(conflict, out);
+      }
+    }
+  }
+
+  /**
+   * Deletes any state in the given directory, so that the next check runs in full.
+   *
+   * @param directory The state directory.
+   */
+  public static void delete(File directory) {
+    try {
+      Files.deleteIfExists(new File(directory, PROJECT_FILE).toPath());
+      Files.deleteIfExists(new File(directory, CONFLICTS_FILE).toPath());
+    } catch (IOException e) {
+      LOGGER.warn("Failed to delete the MissingLink state in {}", directory, e);
+    }
+  }
+
+  private static void writeConflict(Conflict conflict, DataOutputStream out) throws IOException {
+    out.writeUTF(conflict.category().name());
+    out.writeUTF(conflict.usedBy().name());
+    out.writeUTF(conflict.existsIn().name());
+    out.writeUTF(conflict.reason());
+    Dependency dependency = conflict.dependency();
+    out.writeByte(dependency instanceof FieldDependency ? FIELD_DEPENDENCY : METHOD_DEPENDENCY);
+    out.writeUTF(dependency.fromClass().getClassName());
+    out.writeUTF(ArtifactIndex.toKey(dependency.fromMethod()));
+    out.writeInt(dependency.fromLineNumber());
+    out.writeUTF(dependency.targetClass().getClassName());
+    if (dependency instanceof FieldDependency field) {
+      out.writeUTF(ArtifactIndex.toRaw(field.fieldType()));
+      out.writeUTF(field.fieldName());
+    } else {
+      out.writeUTF(ArtifactIndex.toKey(((MethodDependency) dependency).targetMethod()));
+    }
+  }
+
+  private static Conflict readConflict(DataInputStream in) throws IOException {
+    ConflictBuilder conflict =
+        new ConflictBuilder()
+            .category(Conflict.ConflictCategory.valueOf(in.readUTF()))
+            .usedBy(new ArtifactName(in.readUTF()))
+            .existsIn(new ArtifactName(in.readUTF()))
+            .reason(in.readUTF());
+    int kind = in.readByte();
+    ClassTypeDescriptor fromClass = TypeDescriptors.fromClassName(in.readUTF());
+    var fromMethod = ArtifactIndex.fromKey(in.readUTF());
+    int fromLineNumber = in.readInt();
+    ClassTypeDescriptor targetClass = TypeDescriptors.fromClassName(in.readUTF());
+    if (kind == FIELD_DEPENDENCY) {
+      return conflict
+          .dependency(
+              new FieldDependencyBuilder()
+                  .fromClass(fromClass)
+                  .fromMethod(fromMethod)
+                  .fromLineNumber(fromLineNumber)
+                  .targetClass(targetClass)
+                  .fieldType(TypeDescriptors.fromRaw(in.readUTF()))
+                  .fieldName(in.readUTF())
+                  .build())
+          .build();
+    }
+    return conflict
+        .dependency(
+            new MethodDependencyBuilder()
+                .fromClass(fromClass)
+                .fromMethod(fromMethod)
+                .fromLineNumber(fromLineNumber)
+                .targetClass(targetClass)
+                .targetMethod(ArtifactIndex.fromKey(in.readUTF()))
+                .build())
+        .build();
+  }
+}
@@ -0,0 +1,270 @@
+package io.github.mridang.gradle.missinglink.analysis;
+
+import com.spotify.missinglink.datamodel.AccessedField;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactBuilder;
+import com.spotify.missinglink.datamodel.CalledMethod;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.DeclaredClassBuilder;
+import com.spotify.missinglink.datamodel.DeclaredMethod;
+import com.spotify.missinglink.datamodel.MethodDescriptor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Computes which methods of the classpath can be reached from a set of entry classes.
+ *
+ * <p>Every method of an entry class is reachable. A reachable method reaches the methods it calls,
+ * resolved through the class hierarchy: a call reaches the called method in its owner and in every
+ * ancestor declaring it, and a virtual call also reaches every override in a reachable class.
+ * Reaching a class reaches its ancestors and its static initializer, but none of its other
+ * methods. The classes it loads are kept, without any methods, so that the checker can still find
+ * them.
+ *
+ * <p>The bodies of opaque classes, such as the JDK's bootstrap classes, are not walked. Instead,
+ * any method overriding a method of an opaque or unknown ancestor is assumed to be reachable, as
+ * opaque code may call it back. Synthetic lambda bodies are reachable as soon as any method of
+ * their class is. Methods only reached through reflection or method handles are not found.
+ */
+public final class MethodReachability {
+
+  private static final String STATIC_INITIALIZER = "<clinit>";
+  private static final String CONSTRUCTOR = "<init>";
+  private static final String LAMBDA_PREFIX = "lambda$";
+
+  private final Map<ClassTypeDescriptor, DeclaredClass> classes;
+  private final Predicate<ClassTypeDescriptor> opaque;
+  private final Set<ClassTypeDescriptor> reachableClasses = new HashSet<>();
+  private final Map<ClassTypeDescriptor, Set<MethodDescriptor>> reachableMethods = new HashMap<>();
+  private final Set<MethodDescriptor> virtualCalls = new HashSet<>();
+  private final Map<MethodDescriptor, List<ClassTypeDescriptor>> declaringClasses =
+      new HashMap<>();
+  private final Map<ClassTypeDescriptor, InheritedMethods> inherited = new HashMap<>();
+  private final Deque<MethodReference> pending = new ArrayDeque<>();
+
+  private MethodReachability(
+      Map<ClassTypeDescriptor, DeclaredClass> classes, Predicate<ClassTypeDescriptor> opaque) {
+    this.classes = classes;
+    this.opaque = opaque;
+  }
+
+  /**
+   * Computes the methods reachable from the given entry classes.
+   *
+   * @param entryClasses The classes whose methods are all reachable.
+   * @param classes The classes of the project and the classpath by name, which are looked up as
+   *     the walk reaches them.
+   * @param opaque Identifies the classes whose method bodies are not walked.
+   * @return The reachable methods of each reachable class.
+   */
+  public static Map<ClassTypeDescriptor, Set<MethodDescriptor>> reachableMethods(
+      Collection<DeclaredClass> entryClasses,
+      Map<ClassTypeDescriptor, DeclaredClass> classes,
+      Predicate<ClassTypeDescriptor> opaque) {
+    MethodReachability reachability = new MethodReachability(classes, opaque);
+    for (DeclaredClass entryClass : entryClasses) {
+      reachability.reachClass(entryClass.className());
+      for (MethodDescriptor method : entryClass.methods().keySet()) {
+        reachability.reachMethod(entryClass.className(), method);
+      }
+    }
+    reachability.walk();
+    return reachability.reachableMethods;
+  }
+
+  /**
+   * Restricts the given artifacts to their reachable classes and methods.
+   *
+   * <p>A call reaches the called method in every ancestor declaring it, so the checker still finds
+   * each method that a reachable method calls.
+   *
+   * @param artifacts The artifacts to restrict.
+   * @param reachable The reachable methods of each reachable class.
+   * @return The restricted artifacts, in the same order.
+   */
+  public static List<Artifact> restrict(
+      List<Artifact> artifacts, Map<ClassTypeDescriptor, Set<MethodDescriptor>> reachable) {
+    List<Artifact> restricted = new ArrayList<>(artifacts.size());
+    for (Artifact artifact : artifacts) {
+      Map<ClassTypeDescriptor, DeclaredClass> classes = new LinkedHashMap<>();
+      for (ClassTypeDescriptor className : artifact.classes().keySet()) {
+        Set<MethodDescriptor> methods = reachable.get(className);
+        if (methods == null) {
+          continue;
+        }
+        DeclaredClass clazz = artifact.classes().get(className);
+        Map<MethodDescriptor, DeclaredMethod> reachableMethods = new LinkedHashMap<>();
+        for (Map.Entry<MethodDescriptor, DeclaredMethod> method : clazz.methods().entrySet()) {
+          if (methods.contains(method.getKey())) {
+            reachableMethods.put(method.getKey(), method.getValue());
+          }
+        }
+        classes.put(
+            className, DeclaredClassBuilder.from(clazz).methods(reachableMethods).build());
+      }
+      restricted.add(new ArtifactBuilder().name(artifact.name()).classes(classes).build());
+    }
+    return restricted;
+  }
+
+  private void walk() {
+    while (!pending.isEmpty()) {
+      MethodReference reference = pending.pop();
+      DeclaredClass clazz = classes.get(reference.owner());
+      DeclaredMethod method = clazz == null ? null : clazz.methods().get(reference.method());
+      if (method == null) {
+        continue;
+      }
+      for (CalledMethod call : method.methodCalls()) {
+        reachCall(call);
+        call.caughtExceptions().forEach(this::reachClass);
+      }
+      for (AccessedField access : method.fieldAccesses()) {
+        reachClass(access.owner());
+        access.caughtExceptions().forEach(this::reachClass);
+      }
+    }
+  }
+
+  private void reachCall(CalledMethod call) {
+    MethodDescriptor method = call.descriptor();
+    reachClass(call.owner());
+    for (ClassTypeDescriptor ancestor : ancestors(call.owner())) {
+      reachMethod(ancestor, method);
+    }
+    if (!call.isStatic() && !method.name().equals(CONSTRUCTOR) && virtualCalls.add(method)) {
+      for (ClassTypeDescriptor declaring :
+          declaringClasses.getOrDefault(method, Collections.emptyList())) {
+        reachMethod(declaring, method);
+      }
+    }
+  }
+
+  private void reachClass(ClassTypeDescriptor className) {
+    if (!reachableClasses.add(className)) {
+      return;
+    }
+    reachableMethods.putIfAbsent(className, new HashSet<>());
+    DeclaredClass clazz = classes.get(className);
+    if (clazz == null) {
+      return;
+    }
+    clazz.parents().forEach(this::reachClass);
+    if (opaque.test(className)) {
+      return;
+    }
+    for (ClassTypeDescriptor loaded : clazz.loadedClasses()) {
+      reachableMethods.putIfAbsent(loaded, new HashSet<>());
+    }
+    InheritedMethods callable = inheritedMethods(className);
+    for (MethodDescriptor method : clazz.methods().keySet()) {
+      if (method.name().equals(STATIC_INITIALIZER)
+          || virtualCalls.contains(method)
+          || callable.unknown()
+          || callable.methods().contains(method)) {
+        reachMethod(className, method);
+      }
+      declaringClasses.computeIfAbsent(method, key -> new ArrayList<>()).add(className);
+    }
+  }
+
+  private void reachMethod(ClassTypeDescriptor className, MethodDescriptor method) {
+    DeclaredClass clazz = classes.get(className);
+    if (clazz == null || !clazz.methods().containsKey(method)) {
+      return;
+    }
+    Set<MethodDescriptor> methods =
+        reachableMethods.computeIfAbsent(className, key -> new HashSet<>());
+    boolean firstMethod = methods.isEmpty();
+    if (!methods.add(method) || opaque.test(className)) {
+      return;
+    }
+    pending.push(new MethodReference(className, method));
+    if (firstMethod) {
+      for (MethodDescriptor lambda : clazz.methods().keySet()) {
+        if (lambda.name().startsWith(LAMBDA_PREFIX)) {
+          reachMethod(className, lambda);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the class and all of its known ancestors.
+   *
+   * @param className The class.
+   * @return The class followed by its ancestors.
+   */
+  private List<ClassTypeDescriptor> ancestors(ClassTypeDescriptor className) {
+    List<ClassTypeDescriptor> ancestors = new ArrayList<>();
+    Set<ClassTypeDescriptor> seen = new HashSet<>();
+    Deque<ClassTypeDescriptor> remaining = new ArrayDeque<>(List.of(className));
+    while (!remaining.isEmpty()) {
+      ClassTypeDescriptor next = remaining.pop();
+      if (seen.add(next)) {
+        ancestors.add(next);
+        DeclaredClass clazz = classes.get(next);
+        if (clazz != null) {
+          remaining.addAll(clazz.parents());
+        }
+      }
+    }
+    return ancestors;
+  }
+
+  /**
+   * Returns the instance methods a class inherits from opaque ancestors, which opaque code may call
+   * on instances of the class.
+   *
+   * @param className The class.
+   * @return The methods inherited from opaque ancestors.
+   */
+  private InheritedMethods inheritedMethods(ClassTypeDescriptor className) {
+    InheritedMethods known = inherited.get(className);
+    if (known != null) {
+      return known;
+    }
+    // Marked as inheriting nothing while its hierarchy is visited, so that a malformed cycle
+    // terminates.
+    inherited.put(className, new InheritedMethods(Set.of(), false));
+    Set<MethodDescriptor> methods = new HashSet<>();
+    boolean unknown = false;
+    DeclaredClass clazz = classes.get(className);
+    for (ClassTypeDescriptor parent : clazz.parents()) {
+      DeclaredClass parentClass = classes.get(parent);
+      if (parentClass == null) {
+        unknown = true;
+        continue;
+      }
+      if (opaque.test(parent)) {
+        for (Map.Entry<MethodDescriptor, DeclaredMethod> method :
+            parentClass.methods().entrySet()) {
+          if (!method.getValue().isStatic() && !method.getKey().name().equals(CONSTRUCTOR)) {
+            methods.add(method.getKey());
+          }
+        }
+      }
+      InheritedMethods parentMethods = inheritedMethods(parent);
+      methods.addAll(parentMethods.methods());
+      unknown |= parentMethods.unknown();
+    }
+    InheritedMethods result = new InheritedMethods(methods, unknown);
+    inherited.put(className, result);
+    return result;
+  }
+
+  private record MethodReference(ClassTypeDescriptor owner, MethodDescriptor method) {}
+
+  private record InheritedMethods(Set<MethodDescriptor> methods, boolean unknown) {}
+}
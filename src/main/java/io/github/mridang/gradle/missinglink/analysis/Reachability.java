@@ -0,0 +1,136 @@
+package io.github.mridang.gradle.missinglink.analysis;
+
+import com.spotify.missinglink.datamodel.AccessedField;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactBuilder;
+import com.spotify.missinglink.datamodel.CalledMethod;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.DeclaredMethod;
+import io.github.mridang.gradle.missinglink.artifacts.LazyArtifact;
+import io.github.mridang.gradle.missinglink.artifacts.LazyClassMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes which classes of the classpath can be reached from a set of root classes.
+ *
+ * <p>A class reaches every class it loads, extends or implements, and every class owning a method
+ * it calls or a field it accesses. The walk is transitive over the classes of the classpath, so
+ * its result covers every class whose conflicts can affect the roots.
+ */
+public final class Reachability {
+
+  private Reachability() {}
+
+  /**
+   * Indexes the classes of the given artifacts by name, keeping the first class of each name in
+   * classpath order.
+   *
+   * <p>Only the class names are indexed up front. Each class is looked up in its artifact whenever
+   * it is looked up in the index, so walking the index only parses the classes it visits, and
+   * whether they are kept is decided by their artifacts.
+   *
+   * @param artifacts The artifacts, in classpath order.
+   * @return The classes of all artifacts by name.
+   */
+  public static Map<ClassTypeDescriptor, DeclaredClass> classesOf(List<Artifact> artifacts) {
+    Map<ClassTypeDescriptor, LazyClassMap.ClassParser> classes = new HashMap<>();
+    for (Artifact artifact : artifacts) {
+      for (ClassTypeDescriptor className : artifact.classes().keySet()) {
+        classes.putIfAbsent(className, () -> artifact.classes().get(className));
+      }
+    }
+    return new LazyClassMap(classes).withoutRetention();
+  }
+
+  /**
+   * Restricts the given artifacts to their reachable classes, so that only those classes are
+   * handed to the conflict checker.
+   *
+   * <p>The reachable classes are closed under the references the checker follows, so checking the
+   * restricted artifacts finds the same conflicts as checking the complete ones. Lazy artifacts
+   * are restricted to lazy views, so restricting them parses no class.
+   *
+   * @param artifacts The artifacts to restrict.
+   * @param reachable The names of the reachable classes.
+   * @return The restricted artifacts, in the same order.
+   */
+  public static List<Artifact> restrict(
+      List<Artifact> artifacts, Set<ClassTypeDescriptor> reachable) {
+    List<Artifact> restricted = new ArrayList<>(artifacts.size());
+    for (Artifact artifact : artifacts) {
+      if (artifact.classes() instanceof LazyClassMap lazy) {
+        restricted.add(new LazyArtifact(artifact.name(), lazy.restrict(reachable::contains)));
+        continue;
+      }
+      Map<ClassTypeDescriptor, DeclaredClass> classes = new LinkedHashMap<>();
+      for (ClassTypeDescriptor className : artifact.classes().keySet()) {
+        if (reachable.contains(className)) {
+          classes.put(className, artifact.classes().get(className));
+        }
+      }
+      restricted.add(new ArtifactBuilder().name(artifact.name()).classes(classes).build());
+    }
+    return restricted;
+  }
+
+  /**
+   * Returns the classes reachable from the given roots, excluding the roots themselves unless they
+   * are reached from another root.
+   *
+   * @param roots The classes from which the walk starts.
+   * @param classes The classes of the classpath by name.
+   * @return The names of all reachable classes.
+   */
+  public static Set<ClassTypeDescriptor> reachableClasses(
+      Collection<DeclaredClass> roots, Map<ClassTypeDescriptor, DeclaredClass> classes) {
+    Set<ClassTypeDescriptor> reachable = new HashSet<>();
+    Deque<ClassTypeDescriptor> pending = new ArrayDeque<>();
+    for (DeclaredClass root : roots) {
+      enqueueReferences(root, reachable, pending);
+    }
+    while (!pending.isEmpty()) {
+      DeclaredClass clazz = classes.get(pending.pop());
+      if (clazz != null) {
+        enqueueReferences(clazz, reachable, pending);
+      }
+    }
+    return reachable;
+  }
+
+  private static void enqueueReferences(
+      DeclaredClass clazz, Set<ClassTypeDescriptor> reachable, Deque<ClassTypeDescriptor> pending) {
+    for (ClassTypeDescriptor parent : clazz.parents()) {
+      enqueue(parent, reachable, pending);
+    }
+    for (ClassTypeDescriptor loaded : clazz.loadedClasses()) {
+      enqueue(loaded, reachable, pending);
+    }
+    for (DeclaredMethod method : clazz.methods().values()) {
+      for (CalledMethod call : method.methodCalls()) {
+        enqueue(call.owner(), reachable, pending);
+      }
+      for (AccessedField access : method.fieldAccesses()) {
+        enqueue(access.owner(), reachable, pending);
+      }
+    }
+  }
+
+  private static void enqueue(
+      ClassTypeDescriptor type,
+      Set<ClassTypeDescriptor> reachable,
+      Deque<ClassTypeDescriptor> pending) {
+    if (reachable.add(type)) {
+      pending.push(type);
+    }
+  }
+}
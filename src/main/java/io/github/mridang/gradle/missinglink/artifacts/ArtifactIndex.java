@@ -0,0 +1,534 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import com.spotify.missinglink.datamodel.AccessedField;
+import com.spotify.missinglink.datamodel.AccessedFieldBuilder;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.CalledMethod;
+import com.spotify.missinglink.datamodel.CalledMethodBuilder;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.DeclaredClassBuilder;
+import com.spotify.missinglink.datamodel.DeclaredField;
+import com.spotify.missinglink.datamodel.DeclaredFieldBuilder;
+import com.spotify.missinglink.datamodel.DeclaredMethod;
+import com.spotify.missinglink.datamodel.DeclaredMethodBuilder;
+import com.spotify.missinglink.datamodel.MethodDescriptor;
+import com.spotify.missinglink.datamodel.MethodDescriptorBuilder;
+import com.spotify.missinglink.datamodel.TypeDescriptor;
+import com.spotify.missinglink.datamodel.TypeDescriptors;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads and writes a compact binary index of loaded MissingLink artifacts.
+ *
+ * <p>The index holds the complete class, method and field model of each artifact, so reading it
+ * back yields the same model as parsing the bytecode again. Every class name and descriptor is
+ * stored once in a shared string table and referenced by position, and the decoded descriptors are
+ * shared between all classes read from the same index. Each class is stored as a separately sized
+ * block, so that reading an index only decodes a class when it is first looked up.
+ *
+ * <p>The string table starts with a fixed-width offset for each string, so any string can be
+ * decoded without reading the others. Together with the class blocks, this lets an index be read
+ * straight from a memory-mapped file, see {@link #map(File)}.
+ */
+public final class ArtifactIndex {
+
+  /** The file extension used for serialized indexes. */
+  public static final String EXTENSION = ".mlidx";
+
+  private static final int MAGIC = 0x4d4c4958;
+  private static final int VERSION = 3;
+  private static final int HEADER_SIZE = 12;
+
+  private ArtifactIndex() {}
+
+  /**
+   * Writes the given artifacts to an index file.
+   *
+   * @param artifacts The artifacts to write.
+   * @param file The file to write the index to.
+   * @throws IOException If the file could not be written.
+   */
+  public static void write(List<Artifact> artifacts, File file) throws IOException {
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file.toPath()))) {
+      write(artifacts, out);
+    }
+  }
+
+  /**
+   * Writes the given artifacts as an index to a stream.
+   *
+   * @param artifacts The artifacts to write.
+   * @param out The stream to write the index to.
+   * @throws IOException If the stream could not be written.
+   */
+  public static void write(List<Artifact> artifacts, OutputStream out) throws IOException {
+    Writer writer = new Writer();
+    writer.writeArtifacts(artifacts);
+    writer.writeTo(out);
+  }
+
+  /**
+   * Reads all artifacts from an index file into memory.
+   *
+   * <p>The file may be replaced or deleted once this method returns.
+   *
+   * @param file The index file.
+   * @return The artifacts stored in the index, in the order they were written.
+   * @throws IOException If the file could not be read or is not a supported index.
+   */
+  public static List<Artifact> read(File file) throws IOException {
+    return new Reader(ByteBuffer.wrap(Files.readAllBytes(file.toPath()))).readArtifacts();
+  }
+
+  /**
+   * Reads all artifacts from an index file by memory-mapping it.
+   *
+   * <p>Nothing but the class names is copied to the heap until a class is looked up, and the
+   * operating system pages in the parts of the index that are actually read. The file must not be
+   * modified while the artifacts are in use, so this is only suitable for immutable files such as
+   * transform outputs and snapshots that are replaced atomically.
+   *
+   * @param file The index file.
+   * @return The artifacts stored in the index, in the order they were written.
+   * @throws IOException If the file could not be mapped or is not a supported index.
+   */
+  public static List<Artifact> map(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("MissingLink artifact index is too large to map: " + file);
+      }
+      return new Reader(channel.map(FileChannel.MapMode.READ_ONLY, 0, size)).readArtifacts();
+    }
+  }
+
+  /**
+   * Reads all artifacts from an index stream.
+   *
+   * @param in The stream to read the index from.
+   * @return The artifacts stored in the index, in the order they were written.
+   * @throws IOException If the stream could not be read or is not a supported index.
+   */
+  public static List<Artifact> read(InputStream in) throws IOException {
+    return new Reader(ByteBuffer.wrap(in.readAllBytes())).readArtifacts();
+  }
+
+  /**
+   * Converts a type descriptor to its JVM descriptor form, e.g. {@code [Ljava/lang/String;}.
+   *
+   * @param type The type descriptor.
+   * @return The raw JVM descriptor.
+   */
+  public static String toRaw(TypeDescriptor type) {
+    if (type instanceof ClassTypeDescriptor classType) {
+      return "L" + classType.getClassName().replace('.', '/') + ";";
+    }
+    String pretty = type.toString();
+    if (pretty.startsWith("[") || (pretty.length() == 1 && "VZBCSIJFD".contains(pretty))) {
+      return pretty;
+    }
+    int dimensions = 0;
+    while (pretty.endsWith("[]")) {
+      pretty = pretty.substring(0, pretty.length() - 2);
+      dimensions++;
+    }
+    String element =
+        switch (pretty) {
+          case "void" -> "V";
+          case "boolean" -> "Z";
+          case "byte" -> "B";
+          case "char" -> "C";
+          case "short" -> "S";
+          case "int" -> "I";
+          case "long" -> "J";
+          case "float" -> "F";
+          case "double" -> "D";
+          default -> "L" + pretty.replace('.', '/') + ";";
+        };
+    return "[".repeat(dimensions) + element;
+  }
+
+  /**
+   * Converts a method descriptor to a single key of the form {@code name(params)return}.
+   *
+   * @param method The method descriptor.
+   * @return The method key.
+   */
+  public static String toKey(MethodDescriptor method) {
+    StringBuilder key = new StringBuilder(method.name()).append('(');
+    for (TypeDescriptor parameter : method.parameterTypes()) {
+      key.append(toRaw(parameter));
+    }
+    return key.append(')').append(toRaw(method.returnType())).toString();
+  }
+
+  /**
+   * Parses a method key created by {@link #toKey(MethodDescriptor)}.
+   *
+   * @param key The method key.
+   * @return The method descriptor.
+   */
+  public static MethodDescriptor fromKey(String key) {
+    int open = key.indexOf('(');
+    int close = key.lastIndexOf(')');
+    List<TypeDescriptor> parameters = new ArrayList<>();
+    int index = open + 1;
+    while (index < close) {
+      int start = index;
+      while (key.charAt(index) == '[') {
+        index++;
+      }
+      if (key.charAt(index) == 'L') {
+        index = key.indexOf(';', index);
+      }
+      index++;
+      parameters.add(TypeDescriptors.fromRaw(key.substring(start, index)));
+    }
+    return new MethodDescriptorBuilder()
+        .name(key.substring(0, open))
+        .returnType(TypeDescriptors.fromRaw(key.substring(close + 1)))
+        .parameterTypes(parameters)
+        .build();
+  }
+
+  /** Serializes artifacts into a body while collecting the shared string table. */
+  private static final class Writer {
+
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream body = new DataOutputStream(bytes);
+
+    void writeArtifacts(List<Artifact> artifacts) throws IOException {
+      writeInt(artifacts.size(), body);
+      for (Artifact artifact : artifacts) {
+        writeString(artifact.name().name(), body);
+        writeInt(artifact.classes().size(), body);
+        for (DeclaredClass clazz : artifact.classes().values()) {
+          ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+          DataOutputStream out = new DataOutputStream(classBytes);
+          writeClass(clazz, out);
+          out.flush();
+          writeString(clazz.className().getClassName(), body);
+          writeInt(classBytes.size(), body);
+          classBytes.writeTo(body);
+        }
+      }
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+      List<byte[]> encoded = new ArrayList<>(strings.size());
+      for (String string : strings.keySet()) {
+        encoded.add(string.getBytes(StandardCharsets.UTF_8));
+      }
+      DataOutputStream data = new DataOutputStream(out);
+      data.writeInt(MAGIC);
+      data.writeInt(VERSION);
+      data.writeInt(encoded.size());
+      int offset = HEADER_SIZE + 4 * (encoded.size() + 1);
+      for (byte[] string : encoded) {
+        data.writeInt(offset);
+        offset += string.length;
+      }
+      data.writeInt(offset);
+      for (byte[] string : encoded) {
+        data.write(string);
+      }
+      body.flush();
+      bytes.writeTo(data);
+      data.flush();
+    }
+
+    private void writeClass(DeclaredClass clazz, DataOutputStream out) throws IOException {
+      writeClassNames(clazz.parents(), out);
+      writeClassNames(clazz.loadedClasses(), out);
+      writeInt(clazz.fields().size(), out);
+      for (DeclaredField field : clazz.fields()) {
+        writeString(field.name(), out);
+        writeString(toRaw(field.descriptor()), out);
+      }
+      writeInt(clazz.methods().size(), out);
+      for (DeclaredMethod method : clazz.methods().values()) {
+        writeString(toKey(method.descriptor()), out);
+        out.writeBoolean(method.isStatic());
+        writeInt(method.lineNumber(), out);
+        writeInt(method.methodCalls().size(), out);
+        for (CalledMethod call : method.methodCalls()) {
+          writeString(call.owner().getClassName(), out);
+          writeString(toKey(call.descriptor()), out);
+          out.writeBoolean(call.isStatic());
+          writeInt(call.lineNumber(), out);
+          writeClassNames(call.caughtExceptions(), out);
+        }
+        writeInt(method.fieldAccesses().size(), out);
+        for (AccessedField access : method.fieldAccesses()) {
+          writeString(access.owner().getClassName(), out);
+          writeString(access.name(), out);
+          writeString(toRaw(access.descriptor()), out);
+          writeInt(access.lineNumber(), out);
+          writeClassNames(access.caughtExceptions(), out);
+        }
+      }
+    }
+
+    private void writeClassNames(Collection<ClassTypeDescriptor> classNames, DataOutputStream out)
+        throws IOException {
+      writeInt(classNames.size(), out);
+      for (ClassTypeDescriptor className : classNames) {
+        writeString(className.getClassName(), out);
+      }
+    }
+
+    private void writeString(String string, DataOutputStream out) throws IOException {
+      Integer id = strings.get(string);
+      if (id == null) {
+        id = strings.size();
+        strings.put(string, id);
+      }
+      writeInt(id, out);
+    }
+
+    /** Writes a non-negative int using a variable-length encoding. */
+    private static void writeInt(int value, DataOutputStream out) throws IOException {
+      int remaining = value;
+      while ((remaining & ~0x7f) != 0) {
+        out.writeByte((remaining & 0x7f) | 0x80);
+        remaining >>>= 7;
+      }
+      out.writeByte(remaining);
+    }
+  }
+
+  /**
+   * Deserializes artifacts from a buffer, sharing decoded descriptors by their string table
+   * position.
+   *
+   * <p>Only the class names are decoded up front. Strings are decoded from the buffer when first
+   * needed, and each class is decoded from its block when it is first looked up, which may happen
+   * concurrently. The buffer is only read using absolute positions, so it is never modified.
+   */
+  private static final class Reader {
+
+    private final ByteBuffer buffer;
+    private String[] strings = new String[0];
+    private final Map<Integer, ClassTypeDescriptor> classNames = new ConcurrentHashMap<>();
+    private final Map<Integer, TypeDescriptor> types = new ConcurrentHashMap<>();
+    private final Map<Integer, MethodDescriptor> methods = new ConcurrentHashMap<>();
+
+    Reader(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    List<Artifact> readArtifacts() throws IOException {
+      try {
+        return readIndex();
+      } catch (IndexOutOfBoundsException e) {
+        throw new IOException("Truncated MissingLink artifact index", e);
+      }
+    }
+
+    private List<Artifact> readIndex() throws IOException {
+      if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+        throw new IOException("Not a MissingLink artifact index");
+      }
+      int version = buffer.getInt(4);
+      if (version != VERSION) {
+        throw new IOException("Unsupported MissingLink artifact index version: " + version);
+      }
+      int stringCount = buffer.getInt(8);
+      if (stringCount < 0 || stringCount > (buffer.limit() - HEADER_SIZE) / 4) {
+        throw new IOException("Corrupt MissingLink artifact index string table");
+      }
+      strings = new String[stringCount];
+
+      Cursor in = new Cursor(buffer, buffer.getInt(HEADER_SIZE + 4 * stringCount));
+      int artifactCount = in.readInt();
+      List<Artifact> artifacts = new ArrayList<>(artifactCount);
+      for (int i = 0; i < artifactCount; i++) {
+        ArtifactName name = new ArtifactName(readString(in));
+        int classCount = in.readInt();
+        Map<ClassTypeDescriptor, LazyClassMap.ClassParser> classes =
+            new LinkedHashMap<>(classCount * 2);
+        for (int j = 0; j < classCount; j++) {
+          ClassTypeDescriptor className = readClassName(in);
+          int length = in.readInt();
+          int position = in.skip(length);
+          if (length < 0 || in.position > buffer.limit()) {
+            throw new IOException("Truncated MissingLink artifact index");
+          }
+          classes.put(className, () -> readClass(className, position));
+        }
+        artifacts.add(new LazyArtifact(name, new LazyClassMap(classes)));
+      }
+      return artifacts;
+    }
+
+    private DeclaredClass readClass(ClassTypeDescriptor className, int position)
+        throws IOException {
+      try {
+        return readClass(className, new Cursor(buffer, position));
+      } catch (IndexOutOfBoundsException e) {
+        throw new IOException("Truncated MissingLink artifact index", e);
+      }
+    }
+
+    private DeclaredClass readClass(ClassTypeDescriptor className, Cursor in) {
+      Set<ClassTypeDescriptor> parents = readClassNames(in);
+      Set<ClassTypeDescriptor> loadedClasses = readClassNames(in);
+      int fieldCount = in.readInt();
+      List<DeclaredField> fields = new ArrayList<>(fieldCount);
+      for (int i = 0; i < fieldCount; i++) {
+        fields.add(
+            new DeclaredFieldBuilder().name(readString(in)).descriptor(readType(in)).build());
+      }
+      int methodCount = in.readInt();
+      Map<MethodDescriptor, DeclaredMethod> declaredMethods = new LinkedHashMap<>(methodCount * 2);
+      for (int i = 0; i < methodCount; i++) {
+        MethodDescriptor descriptor = readMethod(in);
+        boolean isStatic = in.readBoolean();
+        int lineNumber = in.readInt();
+        int callCount = in.readInt();
+        List<CalledMethod> calls = new ArrayList<>(callCount);
+        for (int j = 0; j < callCount; j++) {
+          calls.add(
+              new CalledMethodBuilder()
+                  .owner(readClassName(in))
+                  .descriptor(readMethod(in))
+                  .isStatic(in.readBoolean())
+                  .lineNumber(in.readInt())
+                  .caughtExceptions(readClassNames(in))
+                  .build());
+        }
+        int accessCount = in.readInt();
+        List<AccessedField> accesses = new ArrayList<>(accessCount);
+        for (int j = 0; j < accessCount; j++) {
+          accesses.add(
+              new AccessedFieldBuilder()
+                  .owner(readClassName(in))
+                  .name(readString(in))
+                  .descriptor(readType(in))
+                  .lineNumber(in.readInt())
+                  .caughtExceptions(readClassNames(in))
+                  .build());
+        }
+        declaredMethods.put(
+            descriptor,
+            new DeclaredMethodBuilder()
+                .descriptor(descriptor)
+                .isStatic(isStatic)
+                .lineNumber(lineNumber)
+                .methodCalls(calls)
+                .fieldAccesses(accesses)
+                .build());
+      }
+      return new DeclaredClassBuilder()
+          .className(className)
+          .parents(parents)
+          .loadedClasses(loadedClasses)
+          .fields(fields)
+          .methods(declaredMethods)
+          .build();
+    }
+
+    private Set<ClassTypeDescriptor> readClassNames(Cursor in) {
+      int count = in.readInt();
+      List<ClassTypeDescriptor> names = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        names.add(readClassName(in));
+      }
+      return Set.copyOf(names);
+    }
+
+    private ClassTypeDescriptor readClassName(Cursor in) {
+      return classNames.computeIfAbsent(
+          in.readInt(), id -> TypeDescriptors.fromClassName(string(id)));
+    }
+
+    private TypeDescriptor readType(Cursor in) {
+      return types.computeIfAbsent(in.readInt(), id -> TypeDescriptors.fromRaw(string(id)));
+    }
+
+    private MethodDescriptor readMethod(Cursor in) {
+      return methods.computeIfAbsent(in.readInt(), id -> fromKey(string(id)));
+    }
+
+    private String readString(Cursor in) {
+      return string(in.readInt());
+    }
+
+    /**
+     * Decodes a string of the string table on first use. Concurrent first uses may both decode
+     * it, which is harmless as strings are immutable.
+     */
+    private String string(int id) {
+      String string = strings[id];
+      if (string == null) {
+        int start = buffer.getInt(HEADER_SIZE + 4 * id);
+        byte[] bytes = new byte[buffer.getInt(HEADER_SIZE + 4 * (id + 1)) - start];
+        buffer.get(start, bytes);
+        string = new String(bytes, StandardCharsets.UTF_8);
+        strings[id] = string;
+      }
+      return string;
+    }
+  }
+
+  /** Reads the variable-length encoding of the index from a position of a shared buffer. */
+  private static final class Cursor {
+
+    private final ByteBuffer buffer;
+    private int position;
+
+    Cursor(ByteBuffer buffer, int position) {
+      this.buffer = buffer;
+      this.position = position;
+    }
+
+    /** Reads a non-negative int written using a variable-length encoding. */
+    int readInt() {
+      int value = 0;
+      int shift = 0;
+      int next;
+      do {
+        next = buffer.get(position++) & 0xff;
+        value |= (next & 0x7f) << shift;
+        shift += 7;
+      } while ((next & 0x80) != 0);
+      return value;
+    }
+
+    boolean readBoolean() {
+      return buffer.get(position++) != 0;
+    }
+
+    /**
+     * Skips the given number of bytes.
+     *
+     * @return The position before skipping.
+     */
+    int skip(int length) {
+      int skipped = position;
+      position += length;
+      return skipped;
+    }
+  }
+}
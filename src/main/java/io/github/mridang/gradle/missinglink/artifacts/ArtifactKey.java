@@ -0,0 +1,87 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import io.github.mridang.gradle.missinglink.MissingLinkArtifact;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Identifies a loaded artifact by the path and content of its file.
+ *
+ * @param path The absolute path of the artifact file.
+ * @param contentHash The SHA-256 hash of the artifact file's content.
+ * @param artifactName The MissingLink name the artifact was loaded under.
+ * @param variant The variant of the model the artifact was loaded into, such as {@link
+ *     ClassModelInterner#VARIANT}.
+ */
+record ArtifactKey(String path, String contentHash, String artifactName, String variant) {
+
+  private static final int MAX_FINGERPRINTS = 4096;
+  private static final LinkedHashMap<File, Fingerprint> FINGERPRINTS =
+      new LinkedHashMap<>(64, 0.75f, true);
+
+  /**
+   * Creates the key of an artifact, reusing the previous content hash of its file while the file's
+   * size and modification time are unchanged. The hashes of the most recently used files are
+   * kept for the lifetime of the daemon, bounded to a fixed number of files.
+   *
+   * @param artifact The artifact, which must be backed by a regular file.
+   * @param variant The variant of the model the artifact is loaded into.
+   * @return The artifact's key.
+   * @throws IOException If the artifact file could not be read.
+   */
+  static ArtifactKey of(MissingLinkArtifact artifact, String variant) throws IOException {
+    File file = artifact.file().getAbsoluteFile();
+    long size = file.length();
+    long lastModified = file.lastModified();
+    Fingerprint fingerprint = fingerprint(file);
+    if (fingerprint == null
+        || fingerprint.size() != size
+        || fingerprint.lastModified() != lastModified) {
+      fingerprint = new Fingerprint(size, lastModified, sha256(file));
+      remember(file, fingerprint);
+    }
+    return new ArtifactKey(
+        file.getPath(), fingerprint.hash(), artifact.toArtifactName().name(), variant);
+  }
+
+  private static @Nullable Fingerprint fingerprint(File file) {
+    synchronized (FINGERPRINTS) {
+      return FINGERPRINTS.get(file);
+    }
+  }
+
+  private static void remember(File file, Fingerprint fingerprint) {
+    synchronized (FINGERPRINTS) {
+      FINGERPRINTS.put(file, fingerprint);
+      Iterator<File> eldest = FINGERPRINTS.keySet().iterator();
+      while (FINGERPRINTS.size() > MAX_FINGERPRINTS && eldest.hasNext()) {
+        eldest.next();
+        eldest.remove();
+      }
+    }
+  }
+
+  private static String sha256(File file) throws IOException {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+        in.transferTo(OutputStream.nullOutputStream());
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private record Fingerprint(long size, long lastModified, String hash) {}
+}
@@ -0,0 +1,89 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import com.spotify.missinglink.datamodel.Artifact;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * A build-scoped registry of loaded artifacts which is shared by the checks of all projects.
+ *
+ * <p>Loaded artifacts are keyed by their file path and content hash, so a dependency used by many
+ * projects is only loaded once per build. The JDK bootstrap artifacts are likewise loaded once.
+ * Gradle disposes the registry, and with it every loaded artifact, when the build finishes.
+ */
+public abstract class ArtifactRegistry
+    implements BuildService<BuildServiceParameters.None>, AutoCloseable {
+
+  /** The name under which the registry is registered with Gradle. */
+  public static final String NAME = "missingLinkArtifactRegistry";
+
+  private static final Logger LOGGER = Logging.getLogger(ArtifactRegistry.class);
+
+  private final Map<ArtifactKey, Artifact> artifacts = new ConcurrentHashMap<>();
+  private final Map<String, BootstrapArtifacts> bootstraps = new ConcurrentHashMap<>();
+
+  /**
+   * Wraps a loader so that artifacts are served from, and added to, this registry.
+   *
+   * <p>Directories cannot be fingerprinted cheaply and are always loaded through the delegate.
+   *
+   * @param delegate The loader used for artifacts not yet in the registry.
+   * @param variant The variant of the model the delegate loads artifacts into.
+   * @return The registry-backed loader.
+   */
+  public ClasspathArtifactLoader share(ClasspathArtifactLoader delegate, String variant) {
+    return artifact -> {
+      if (!artifact.file().isFile()) {
+        return delegate.load(artifact);
+      }
+      try {
+        return artifacts.computeIfAbsent(
+            ArtifactKey.of(artifact, variant),
+            key -> {
+              try {
+                LOGGER.debug("Adding artifact to the shared registry: {}", artifact.file());
+                return delegate.load(artifact);
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+  }
+
+  /**
+   * Returns the bootstrap artifacts of the running JDK, loading them on first use.
+   *
+   * @param variant The variant of the model the loader loads the artifacts into.
+   * @param loader Loads the bootstrap artifacts if this registry does not hold them yet.
+   * @return The shared bootstrap artifacts.
+   */
+  public BootstrapArtifacts bootstrap(String variant, Supplier<BootstrapArtifacts> loader) {
+    return bootstraps.computeIfAbsent(variant, key -> loader.get());
+  }
+
+  @Override
+  public void close() {
+    LOGGER.debug("Disposing {} shared artifacts", artifacts.size());
+    for (Artifact artifact : artifacts.values()) {
+      if (artifact instanceof LazyArtifact lazy) {
+        try {
+          lazy.close();
+        } catch (IOException e) {
+          LOGGER.debug("Failed to close {}", lazy.name().name(), e);
+        }
+      }
+    }
+    artifacts.clear();
+    bootstraps.clear();
+  }
+}
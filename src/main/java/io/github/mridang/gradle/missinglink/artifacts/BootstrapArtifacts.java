@@ -2,43 +2,175 @@ package io.github.mridang.gradle.missinglink.artifacts;
 
 import com.spotify.missinglink.Java9ModuleLoader;
 import com.spotify.missinglink.datamodel.Artifact;
-import java.util.Collections;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents Java 9 module artifacts for analysis.
  *
- * @param artifacts The list of resolved Java 9 module artifacts.
+ * <p>Artifacts created from a snapshot, or mapped from such artifacts, are only read when they are
+ * first requested.
  */
-public record BootstrapArtifacts(List<Artifact> artifacts) {
+public final class BootstrapArtifacts {
 
   private static final Logger LOGGER = Logging.getLogger(BootstrapArtifacts.class);
 
+  private final Supplier<List<Artifact>> loader;
+  private volatile @Nullable List<Artifact> artifacts;
+
   /** Constructs artifacts from Java 9 module paths. */
   public BootstrapArtifacts() {
-    this(
-        Java9ModuleLoader.getJava9ModuleArtifacts(
-                (msg, ex) -> {
-                  if (ex != null) {
-                    LOGGER.warn("Error loading Java 9 module artifact: {}", msg, ex);
-                  } else {
-                    LOGGER.info("Java 9 module artifact loaded: {}", msg);
-                  }
-                })
-            .stream()
-            .peek(artifact -> LOGGER.debug("Resolved bootstrap artifact: {}", artifact))
-            .toList());
+    this(loadModuleArtifacts());
   }
 
+  /**
+   * Constructs bootstrap artifacts from already loaded artifacts.
+   *
+   * @param artifacts The list of resolved Java 9 module artifacts.
+   */
   public BootstrapArtifacts(List<Artifact> artifacts) {
-    this.artifacts = List.copyOf(artifacts);
+    List<Artifact> loaded = List.copyOf(artifacts);
+    this.artifacts = loaded;
+    this.loader = () -> loaded;
+  }
+
+  private BootstrapArtifacts(Supplier<List<Artifact>> loader) {
+    this.loader = loader;
+  }
+
+  /**
+   * Constructs artifacts from a snapshot of the running JDK's modules.
+   *
+   * <p>Snapshots are keyed by {@code java.home} and the runtime version, so the module image of a
+   * JDK is only parsed the first time it is used and memory-mapped from the snapshot afterwards. A
+   * missing, unreadable or outdated snapshot is replaced by a freshly parsed one. The snapshot is
+   * not read, nor the module image parsed, until the artifacts are first requested.
+   *
+   * @param snapshotDirectory The directory in which snapshots are kept.
+   * @return The bootstrap artifacts of the running JDK.
+   */
+  public static BootstrapArtifacts fromSnapshot(File snapshotDirectory) {
+    return new BootstrapArtifacts(() -> readSnapshot(snapshotDirectory));
+  }
+
+  private static List<Artifact> readSnapshot(File snapshotDirectory) {
+    File snapshot =
+        new File(
+            snapshotDirectory,
+            "bootstrap-%s%s"
+                .formatted(
+                    snapshotKey(
+                        System.getProperty("java.home"),
+                        System.getProperty("java.runtime.version")),
+                    ArtifactIndex.EXTENSION));
+    if (snapshot.isFile()) {
+      try {
+        List<Artifact> artifacts = ArtifactIndex.map(snapshot);
+        LOGGER.info("Read bootstrap artifacts from snapshot: {}", snapshot);
+        return artifacts;
+      } catch (IOException e) {
+        LOGGER.warn("Ignoring unreadable bootstrap snapshot: {}", snapshot, e);
+      }
+    }
+
+    List<Artifact> artifacts = loadModuleArtifacts();
+    Path temporary = null;
+    try {
+      Files.createDirectories(snapshotDirectory.toPath());
+      temporary = Files.createTempFile(snapshotDirectory.toPath(), "bootstrap", ".tmp");
+      ArtifactIndex.write(artifacts, temporary.toFile());
+      Files.move(
+          temporary,
+          snapshot.toPath(),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      LOGGER.info("Wrote bootstrap artifacts snapshot: {}", snapshot);
+    } catch (IOException e) {
+      LOGGER.warn("Failed to write bootstrap snapshot: {}", snapshot, e);
+      if (temporary != null) {
+        try {
+          Files.deleteIfExists(temporary);
+        } catch (IOException deleteFailure) {
+          LOGGER.debug("Failed to delete {}", temporary, deleteFailure);
+        }
+      }
+    }
+    return artifacts;
   }
 
-  @Override
+  /**
+   * Derives the snapshot key for a JDK.
+   *
+   * @param javaHome The JDK's {@code java.home}.
+   * @param runtimeVersion The JDK's full runtime version string.
+   * @return A short hexadecimal key identifying the JDK build.
+   */
+  static String snapshotKey(String javaHome, String runtimeVersion) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256")
+              .digest((javaHome + "\n" + runtimeVersion).getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest, 0, 8);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static List<Artifact> loadModuleArtifacts() {
+    return Java9ModuleLoader.getJava9ModuleArtifacts(
+            (msg, ex) -> {
+              if (ex != null) {
+                LOGGER.warn("Error loading Java 9 module artifact: {}", msg, ex);
+              } else {
+                LOGGER.info("Java 9 module artifact loaded: {}", msg);
+              }
+            })
+        .stream()
+        .peek(artifact -> LOGGER.debug("Resolved bootstrap artifact: {}", artifact))
+        .toList();
+  }
+
+  /**
+   * Returns the bootstrap artifacts, reading them on the first call.
+   *
+   * @return The list of resolved Java 9 module artifacts.
+   */
   public List<Artifact> artifacts() {
-    return Collections.unmodifiableList(artifacts);
+    List<Artifact> loaded = artifacts;
+    if (loaded == null) {
+      synchronized (this) {
+        loaded = artifacts;
+        if (loaded == null) {
+          loaded = List.copyOf(loader.get());
+          artifacts = loaded;
+        }
+      }
+    }
+    return loaded;
+  }
+
+  /**
+   * Maps every artifact, e.g. to intern its classes, without reading the artifacts before the
+   * mapped ones are first requested.
+   *
+   * @param mapper The function mapping each artifact.
+   * @return The mapped bootstrap artifacts.
+   */
+  public BootstrapArtifacts map(UnaryOperator<Artifact> mapper) {
+    return new BootstrapArtifacts(() -> artifacts().stream().map(mapper).toList());
   }
 
   /**
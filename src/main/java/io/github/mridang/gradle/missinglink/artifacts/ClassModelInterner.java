@@ -0,0 +1,165 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import com.spotify.missinglink.datamodel.AccessedField;
+import com.spotify.missinglink.datamodel.AccessedFieldBuilder;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactBuilder;
+import com.spotify.missinglink.datamodel.CalledMethod;
+import com.spotify.missinglink.datamodel.CalledMethodBuilder;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.DeclaredClassBuilder;
+import com.spotify.missinglink.datamodel.DeclaredField;
+import com.spotify.missinglink.datamodel.DeclaredMethod;
+import com.spotify.missinglink.datamodel.DeclaredMethodBuilder;
+import com.spotify.missinglink.datamodel.MethodDescriptor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deduplicates the loaded class model within an artifact.
+ *
+ * <p>Every class parsed from a jar, an index or the JDK carries its own copies of the class names,
+ * type and method descriptors, fields and references it mentions, although most of them are equal
+ * to those of other classes. The interner replaces each of these values with a single canonical
+ * instance shared by every class it interns.
+ *
+ * <p>Line numbers are kept, so the references a method makes to the same member from different
+ * lines stay distinct and every report sees the same conflicts.
+ *
+ * <p>The canonical values are held for as long as the interner is reachable. {@link
+ * #interning(ClasspathArtifactLoader)} therefore uses a new interner per loaded artifact, so the
+ * values live and die with the artifact, and with the cache entry that holds it.
+ */
+public final class ClassModelInterner {
+
+  /** The model variant produced by interning, for use in cache keys. */
+  public static final String VARIANT = "interned";
+
+  private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+  /**
+   * Wraps a loader so that each artifact it loads is interned by an interner of its own.
+   *
+   * @param delegate The loader whose artifacts are interned.
+   * @return The interning loader.
+   */
+  public static ClasspathArtifactLoader interning(ClasspathArtifactLoader delegate) {
+    return artifact -> new ClassModelInterner().intern(delegate.load(artifact));
+  }
+
+  /**
+   * Interns the classes of the given bootstrap artifacts, once they are first requested.
+   *
+   * @param bootstrap The bootstrap artifacts.
+   * @return The interned bootstrap artifacts.
+   */
+  public BootstrapArtifacts intern(BootstrapArtifacts bootstrap) {
+    return bootstrap.map(this::intern);
+  }
+
+  /**
+   * Interns the classes of an artifact. The classes of a {@link LazyArtifact} are interned as they
+   * are parsed, so interning does not parse them.
+   *
+   * @param artifact The artifact.
+   * @return The interned artifact.
+   */
+  public Artifact intern(Artifact artifact) {
+    if (artifact instanceof LazyArtifact lazy) {
+      return new LazyArtifact(lazy.name(), lazy.classes().map(this::intern));
+    }
+    Map<ClassTypeDescriptor, DeclaredClass> classes = new LinkedHashMap<>();
+    for (DeclaredClass clazz : artifact.classes().values()) {
+      DeclaredClass interned = intern(clazz);
+      classes.put(interned.className(), interned);
+    }
+    return new ArtifactBuilder().name(artifact.name()).classes(classes).build();
+  }
+
+  /**
+   * Interns the descriptors, fields and references of a class.
+   *
+   * @param clazz The class.
+   * @return The interned class.
+   */
+  public DeclaredClass intern(DeclaredClass clazz) {
+    List<DeclaredField> fields = new ArrayList<>(clazz.fields().size());
+    for (DeclaredField field : clazz.fields()) {
+      fields.add(canonical(field));
+    }
+    Map<MethodDescriptor, DeclaredMethod> methods = new LinkedHashMap<>();
+    for (DeclaredMethod method : clazz.methods().values()) {
+      DeclaredMethod interned = intern(method);
+      methods.put(interned.descriptor(), interned);
+    }
+    return new DeclaredClassBuilder()
+        .className(canonical(clazz.className()))
+        .parents(classNames(clazz.parents()))
+        .loadedClasses(classNames(clazz.loadedClasses()))
+        .fields(fields)
+        .methods(methods)
+        .build();
+  }
+
+  /**
+   * Returns the number of distinct values interned so far.
+   *
+   * @return The number of canonical values.
+   */
+  public int size() {
+    return values.size();
+  }
+
+  private DeclaredMethod intern(DeclaredMethod method) {
+    List<CalledMethod> calls = new ArrayList<>(method.methodCalls().size());
+    for (CalledMethod call : method.methodCalls()) {
+      calls.add(
+          canonical(
+              new CalledMethodBuilder()
+                  .owner(canonical(call.owner()))
+                  .descriptor(canonical(call.descriptor()))
+                  .isStatic(call.isStatic())
+                  .lineNumber(call.lineNumber())
+                  .caughtExceptions(classNames(call.caughtExceptions()))
+                  .build()));
+    }
+    List<AccessedField> accesses = new ArrayList<>(method.fieldAccesses().size());
+    for (AccessedField access : method.fieldAccesses()) {
+      accesses.add(
+          canonical(
+              new AccessedFieldBuilder()
+                  .owner(canonical(access.owner()))
+                  .name(access.name())
+                  .descriptor(canonical(access.descriptor()))
+                  .lineNumber(access.lineNumber())
+                  .caughtExceptions(classNames(access.caughtExceptions()))
+                  .build()));
+    }
+    return new DeclaredMethodBuilder()
+        .descriptor(canonical(method.descriptor()))
+        .isStatic(method.isStatic())
+        .lineNumber(method.lineNumber())
+        .methodCalls(calls)
+        .fieldAccesses(accesses)
+        .build();
+  }
+
+  private List<ClassTypeDescriptor> classNames(Collection<ClassTypeDescriptor> classNames) {
+    List<ClassTypeDescriptor> interned = new ArrayList<>(classNames.size());
+    for (ClassTypeDescriptor className : classNames) {
+      interned.add(canonical(className));
+    }
+    return interned;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T canonical(T value) {
+    Object existing = values.putIfAbsent(value, value);
+    return existing != null ? (T) existing : value;
+  }
+}
@@ -0,0 +1,106 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import com.spotify.missinglink.ArtifactLoader;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactBuilder;
+import io.github.mridang.gradle.missinglink.MissingLinkArtifact;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Loads the MissingLink model for a single resolved classpath artifact. */
+@FunctionalInterface
+public interface ClasspathArtifactLoader {
+
+  /**
+   * Loads the given artifact into a Spotify MissingLink {@code Artifact}.
+   *
+   * @param artifact The resolved artifact to load.
+   * @return The loaded artifact model.
+   * @throws IOException If the artifact file could not be read.
+   */
+  Artifact load(MissingLinkArtifact artifact) throws IOException;
+
+  /**
+   * Returns a loader that parses the artifact's bytecode using the Spotify {@link ArtifactLoader}.
+   *
+   * <p>A fresh {@link ArtifactLoader} is used per artifact so the returned loader can safely be
+   * called from several threads at once.
+   *
+   * @return The bytecode-parsing loader.
+   */
+  static ClasspathArtifactLoader bytecode() {
+    return artifact -> new ArtifactLoader().load(artifact.toArtifactName(), artifact.file());
+  }
+
+  /**
+   * Returns a loader that only reads the central directory of jar artifacts and parses each class
+   * on first lookup, falling back to {@link #bytecode()} for class directories.
+   *
+   * @return The lazily parsing loader.
+   */
+  static ClasspathArtifactLoader lazy() {
+    ClasspathArtifactLoader bytecode = bytecode();
+    return artifact ->
+        artifact.file().isFile()
+            ? LazyArtifact.ofJar(artifact.toArtifactName(), artifact.file())
+            : bytecode.load(artifact);
+  }
+
+  /**
+   * Returns a loader that reads artifacts from the serialized indexes produced by {@link
+   * MissingLinkIndexTransform}, falling back to the given loader for artifacts without an index.
+   *
+   * <p>Transform outputs are immutable, so the indexes are memory-mapped rather than read.
+   *
+   * @param indexes The index file for each artifact file that has one.
+   * @param fallback The loader used for artifacts without an index.
+   * @return The index-reading loader.
+   */
+  static ClasspathArtifactLoader indexed(
+      Map<File, File> indexes, ClasspathArtifactLoader fallback) {
+    Map<File, File> available = Map.copyOf(indexes);
+    return artifact -> {
+      File index = available.get(artifact.file());
+      if (index == null) {
+        return fallback.load(artifact);
+      }
+      Artifact indexed = ArtifactIndex.map(index).get(0);
+      if (indexed instanceof LazyArtifact lazy) {
+        return lazy.withName(artifact.toArtifactName());
+      }
+      return new ArtifactBuilder()
+          .name(artifact.toArtifactName())
+          .classes(indexed.classes())
+          .build();
+    };
+  }
+
+  /**
+   * Wraps the given loader so that each artifact is loaded at most once and the same instance is
+   * returned for every subsequent request.
+   *
+   * @param delegate The loader used on the first request for an artifact.
+   * @return The memoizing loader.
+   */
+  static ClasspathArtifactLoader memoizing(ClasspathArtifactLoader delegate) {
+    Map<MissingLinkArtifact, Artifact> loaded = new ConcurrentHashMap<>();
+    return artifact -> {
+      try {
+        return loaded.computeIfAbsent(
+            artifact,
+            key -> {
+              try {
+                return delegate.load(key);
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+  }
+}
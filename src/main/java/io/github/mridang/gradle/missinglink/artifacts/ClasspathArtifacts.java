@@ -1,46 +1,78 @@
 package io.github.mridang.gradle.missinglink.artifacts;
 
-import com.spotify.missinglink.ArtifactLoader;
 import com.spotify.missinglink.datamodel.Artifact;
 import io.github.mridang.gradle.missinglink.MissingLinkArtifact;
 import io.github.mridang.gradle.missinglink.MissingLinkExclusions;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import org.gradle.api.Project;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentSelector;
+import org.gradle.api.artifacts.result.ComponentSelectionReason;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 
 /**
  * Represents the collection of resolved artifacts for analysis.
  *
+ * <p>Artifacts are loaded through a memoizing loader which is shared with every filtered view, so
+ * each file on the classpath is parsed at most once no matter how often the loaded model is
+ * requested.
+ *
  * @param artifacts The list of artifacts.
+ * @param loader The loader used to turn each artifact into its MissingLink model.
  */
-public record ClasspathArtifacts(List<MissingLinkArtifact> artifacts) {
+public record ClasspathArtifacts(
+    List<MissingLinkArtifact> artifacts, ClasspathArtifactLoader loader) {
 
-  private static final ArtifactLoader ARTIFACT_LOADER = new ArtifactLoader();
   private static final Logger LOGGER = Logging.getLogger(ClasspathArtifacts.class);
+  private static final ThreadFactory LOADER_THREADS =
+      runnable -> {
+        Thread thread = new Thread(runnable, "missinglink-artifact-loader");
+        thread.setDaemon(true);
+        return thread;
+      };
 
   /**
-   * Constructs artifacts from the project's runtime classpath.
+   * Constructs artifacts from the resolved artifacts of the runtime classpath.
    *
-   * @param project The Gradle project instance.
+   * @param resolved The resolved artifacts, in classpath order.
+   * @param root The root of the classpath's dependency graph, which identifies the module of each
+   *     artifact.
    */
-  public ClasspathArtifacts(Project project) {
-    this(
-        project
-            .getConfigurations()
-            .getByName("runtimeClasspath")
-            .getResolvedConfiguration()
-            .getResolvedArtifacts()
-            .stream()
-            .map(MissingLinkArtifact::fromResolvedArtifact)
-            .peek(artifact -> LOGGER.debug("Resolved artifact: {}", artifact))
-            .toList());
+  public ClasspathArtifacts(
+      Collection<ResolvedArtifactResult> resolved, ResolvedComponentResult root) {
+    this(toMissingLinkArtifacts(resolved, modulesOf(root)));
   }
 
   public ClasspathArtifacts(List<MissingLinkArtifact> artifacts) {
+    this(artifacts, ClasspathArtifactLoader.memoizing(ClasspathArtifactLoader.bytecode()));
+  }
+
+  public ClasspathArtifacts(List<MissingLinkArtifact> artifacts, ClasspathArtifactLoader loader) {
     this.artifacts = List.copyOf(artifacts);
+    this.loader = loader;
   }
 
   @SuppressWarnings("unused")
@@ -52,30 +84,238 @@ public record ClasspathArtifacts(List<MissingLinkArtifact> artifacts) {
   /**
    * Filters the artifacts based on exclusions.
    *
+   * <p>The filtered instance shares this instance's loader, so artifacts already loaded through
+   * either of them are not loaded again.
+   *
    * @param exclusions The exclusion rules.
    * @return A new {@code MissingLinkArtifacts} instance with filtered artifacts.
    */
   public ClasspathArtifacts filter(MissingLinkExclusions exclusions) {
     return new ClasspathArtifacts(
-        artifacts.stream().filter(artifact -> !exclusions.test(artifact)).toList());
+        artifacts.stream().filter(artifact -> !exclusions.test(artifact)).toList(), loader);
+  }
+
+  /**
+   * Selects the artifacts whose version differs from the version of the same module in another
+   * classpath, e.g. the compile classpath. Artifacts of modules missing from that classpath, or
+   * without a module at all, are selected as well.
+   *
+   * <p>The selected instance shares this instance's loader.
+   *
+   * @param moduleVersions The version of each module of the other classpath, by {@code
+   *     group:name}, see {@link #moduleVersionsOf(ResolvedComponentResult)}.
+   * @return A new {@code ClasspathArtifacts} instance with the changed artifacts.
+   */
+  public ClasspathArtifacts changedSince(Map<String, String> moduleVersions) {
+    return new ClasspathArtifacts(
+        artifacts.stream()
+            .filter(
+                artifact ->
+                    artifact.group().isEmpty()
+                        || !artifact
+                            .version()
+                            .equals(moduleVersions.get(artifact.group() + ":" + artifact.name())))
+            .toList(),
+        loader);
   }
 
   /**
-   * Converts the filtered artifacts into Spotify MissingLink Artifacts.
+   * Converts the filtered artifacts into Spotify MissingLink Artifacts, loading up to {@code
+   * parallelism} artifacts concurrently.
+   *
+   * <p>The returned list is always in classpath order regardless of the order in which the loads
+   * complete, so the conflicts and reports derived from it stay deterministic.
    *
+   * @param parallelism The maximum number of artifacts to load at the same time.
    * @return A list of artifacts compatible with the MissingLink library.
    */
-  public List<Artifact> toMissingLinkArtifacts() {
-    return artifacts.stream()
-        .map(
-            artifact -> {
-              try {
-                LOGGER.trace("Loading artifact: {}", artifact.file());
-                return ARTIFACT_LOADER.load(artifact.toArtifactName(), artifact.file());
-              } catch (IOException e) {
-                throw new RuntimeException("Failed to load artifact: " + artifact.file(), e);
-              }
-            })
-        .toList();
+  public List<Artifact> toMissingLinkArtifacts(int parallelism) {
+    int workers = Math.min(Math.max(parallelism, 1), artifacts.size());
+    if (workers <= 1) {
+      return artifacts.stream().map(this::load).toList();
+    }
+
+    LOGGER.debug("Loading {} artifacts using {} workers", artifacts.size(), workers);
+    ExecutorService executor = Executors.newFixedThreadPool(workers, LOADER_THREADS);
+    try {
+      List<Future<Artifact>> loads =
+          executor.invokeAll(
+              artifacts.stream()
+                  .map(artifact -> (Callable<Artifact>) () -> load(artifact))
+                  .toList());
+      List<Artifact> loaded = new ArrayList<>(loads.size());
+      for (Future<Artifact> load : loads) {
+        loaded.add(load.get());
+      }
+      return List.copyOf(loaded);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while loading artifacts", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new RuntimeException("Failed to load artifacts", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Maps each resolved artifact file to its index produced by {@link MissingLinkIndexTransform}.
+   *
+   * @param resolved The resolved artifacts of the classpath.
+   * @param indexes The resolved artifacts of the classpath's index view.
+   * @return The index file for every artifact file that could be transformed.
+   */
+  public static Map<File, File> indexesOf(
+      Collection<ResolvedArtifactResult> resolved, Collection<ResolvedArtifactResult> indexes) {
+    Map<String, File> indexFiles = new HashMap<>();
+    for (ResolvedArtifactResult index : indexes) {
+      indexFiles.put(
+          indexKey(index.getId().getComponentIdentifier(), index.getFile().getName()),
+          index.getFile());
+    }
+
+    Map<File, File> indexed = new HashMap<>();
+    for (ResolvedArtifactResult artifact : resolved) {
+      File index =
+          indexFiles.get(
+              indexKey(
+                  artifact.getId().getComponentIdentifier(),
+                  artifact.getFile().getName() + ArtifactIndex.EXTENSION));
+      if (index != null) {
+        indexed.put(artifact.getFile(), index);
+      }
+    }
+    LOGGER.debug("Found {} transformed artifact indexes", indexed.size());
+    return indexed;
+  }
+
+  /**
+   * Maps every module in a dependency graph to its selected version.
+   *
+   * @param root The root of the dependency graph.
+   * @return The version of each module reachable from the root, by {@code group:name}.
+   */
+  public static Map<String, String> moduleVersionsOf(ResolvedComponentResult root) {
+    Map<String, String> versions = new HashMap<>();
+    for (ModuleVersionIdentifier module : modulesOf(root).values()) {
+      versions.put(module.getGroup() + ":" + module.getName(), module.getVersion());
+    }
+    return versions;
+  }
+
+  /**
+   * Finds the dependencies whose requested module or version was replaced during resolution.
+   *
+   * <p>Only such edges make an artifact run against another version of a dependency than the one it
+   * was built against, so they are where conflicts come from. Requests without a version, e.g.
+   * those managed by a platform, are never considered replaced.
+   *
+   * @param root The root of the dependency graph.
+   * @return The replaced dependency edges, between artifact names.
+   */
+  public static Set<ResolvedEdge> resolvedEdgesOf(ResolvedComponentResult root) {
+    Set<ResolvedEdge> edges = new LinkedHashSet<>();
+    Set<ComponentIdentifier> visited = new HashSet<>();
+    Deque<ResolvedComponentResult> pending = new ArrayDeque<>(List.of(root));
+    while (!pending.isEmpty()) {
+      ResolvedComponentResult component = pending.pop();
+      if (!visited.add(component.getId())) {
+        continue;
+      }
+      for (DependencyResult dependency : component.getDependencies()) {
+        if (dependency instanceof ResolvedDependencyResult resolvedDependency) {
+          ResolvedComponentResult selected = resolvedDependency.getSelected();
+          if (component.getModuleVersion() != null
+              && selected.getModuleVersion() != null
+              && isReplaced(resolvedDependency)) {
+            edges.add(
+                new ResolvedEdge(
+                    coordinates(component.getModuleVersion()),
+                    coordinates(selected.getModuleVersion())));
+          }
+          pending.push(selected);
+        }
+      }
+    }
+    LOGGER.debug("Found {} replaced dependency versions", edges.size());
+    return edges;
+  }
+
+  private static boolean isReplaced(ResolvedDependencyResult dependency) {
+    ModuleVersionIdentifier selected = dependency.getSelected().getModuleVersion();
+    ComponentSelectionReason reason = dependency.getSelected().getSelectionReason();
+    return dependency.getRequested() instanceof ModuleComponentSelector requested
+        && !requested.getVersion().isEmpty()
+        && (!requested.getModuleIdentifier().equals(selected.getModule())
+            || !requested.getVersion().equals(selected.getVersion()))
+        && (reason.isConflictResolution()
+            || reason.isForced()
+            || reason.isConstrained()
+            || reason.isSelectedByRule()
+            || reason.isCompositeSubstitution());
+  }
+
+  private static String coordinates(ModuleVersionIdentifier module) {
+    return "%s:%s:%s".formatted(module.getGroup(), module.getName(), module.getVersion());
+  }
+
+  /**
+   * Maps every component in a dependency graph to its module version.
+   *
+   * @param root The root of the dependency graph.
+   * @return The module version of each component reachable from the root.
+   */
+  private static Map<ComponentIdentifier, ModuleVersionIdentifier> modulesOf(
+      ResolvedComponentResult root) {
+    Map<ComponentIdentifier, ModuleVersionIdentifier> modules = new HashMap<>();
+    Deque<ResolvedComponentResult> pending = new ArrayDeque<>(List.of(root));
+    while (!pending.isEmpty()) {
+      ResolvedComponentResult component = pending.pop();
+      ModuleVersionIdentifier module = component.getModuleVersion();
+      if (modules.containsKey(component.getId()) || module == null) {
+        continue;
+      }
+      modules.put(component.getId(), module);
+      for (DependencyResult dependency : component.getDependencies()) {
+        if (dependency instanceof ResolvedDependencyResult resolvedDependency) {
+          pending.push(resolvedDependency.getSelected());
+        }
+      }
+    }
+    return modules;
+  }
+
+  private static List<MissingLinkArtifact> toMissingLinkArtifacts(
+      Collection<ResolvedArtifactResult> resolved,
+      Map<ComponentIdentifier, ModuleVersionIdentifier> modules) {
+    List<MissingLinkArtifact> artifacts = new ArrayList<>(resolved.size());
+    for (ResolvedArtifactResult artifact : resolved) {
+      ModuleVersionIdentifier module = modules.get(artifact.getVariant().getOwner());
+      if (module == null) {
+        LOGGER.debug("No module found for artifact: {}", artifact.getId());
+        artifacts.add(
+            new MissingLinkArtifact("", artifact.getFile().getName(), "", artifact.getFile()));
+      } else {
+        artifacts.add(MissingLinkArtifact.fromResolvedArtifactResult(artifact, module));
+      }
+      LOGGER.debug("Resolved artifact: {}", artifacts.get(artifacts.size() - 1));
+    }
+    return artifacts;
+  }
+
+  private static String indexKey(ComponentIdentifier component, String fileName) {
+    return component.getDisplayName() + "/" + fileName;
+  }
+
+  private Artifact load(MissingLinkArtifact artifact) {
+    try {
+      LOGGER.trace("Loading artifact: {}", artifact.file());
+      return loader.load(artifact);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to load artifact: " + artifact.file(), e);
+    }
   }
 }
@@ -0,0 +1,108 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.TypeDescriptors;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * An artifact whose classes are parsed on first lookup.
+ *
+ * <p>Unlike the artifacts built by the Spotify {@code ArtifactLoader}, a lazy artifact only knows
+ * the names of its classes up front. See {@link LazyClassMap} for how its classes are parsed.
+ *
+ * <p>Closing the artifact releases the jar its classes are parsed from, which is opened again if
+ * another class is parsed afterwards.
+ */
+public final class LazyArtifact implements Artifact, Closeable {
+
+  private final ArtifactName name;
+  private final LazyClassMap classes;
+
+  /**
+   * Constructs a lazy artifact.
+   *
+   * @param name The name of the artifact.
+   * @param classes The lazily parsed classes of the artifact.
+   */
+  public LazyArtifact(ArtifactName name, LazyClassMap classes) {
+    this.name = name;
+    this.classes = classes;
+  }
+
+  /**
+   * Reads the central directory of a jar, deferring parsing its classes until they are looked up.
+   *
+   * <p>The jar is closed once its central directory is read, and reopened when a class is parsed
+   * until the artifact is {@link #close() closed}.
+   *
+   * @param name The name of the artifact.
+   * @param jar The jar file.
+   * @return The lazy artifact.
+   * @throws IOException If the jar's central directory could not be read.
+   */
+  public static LazyArtifact ofJar(ArtifactName name, File jar) throws IOException {
+    LazyJar source = new LazyJar(jar);
+    Map<ClassTypeDescriptor, LazyClassMap.ClassParser> parsers = new LinkedHashMap<>();
+    try (ZipFile zip = new ZipFile(jar)) {
+      Enumeration<? extends ZipEntry> entries = zip.entries();
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+        String path = entry.getName();
+        if (entry.isDirectory()
+            || !path.endsWith(".class")
+            || path.startsWith("META-INF/")
+            || path.endsWith("module-info.class")) {
+          continue;
+        }
+        parsers.put(
+            TypeDescriptors.fromClassName(path.substring(0, path.length() - ".class".length())),
+            () -> source.parse(path));
+      }
+    }
+    return new LazyArtifact(name, new LazyClassMap(parsers, source));
+  }
+
+  /**
+   * Returns a lazy artifact sharing the classes of this artifact under another name.
+   *
+   * @param newName The name of the returned artifact.
+   * @return The renamed artifact.
+   */
+  public LazyArtifact withName(ArtifactName newName) {
+    return new LazyArtifact(newName, classes);
+  }
+
+  @Override
+  public ArtifactName name() {
+    return name;
+  }
+
+  @Override
+  public LazyClassMap classes() {
+    return classes;
+  }
+
+  /**
+   * Releases the jar the classes of this artifact are parsed from, if it is open.
+   *
+   * @throws IOException If the jar could not be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    classes.close();
+  }
+
+  @Override
+  public String toString() {
+    return "LazyArtifact{name=" + name.name() + ", classes=" + classes.size() + "}";
+  }
+}
@@ -0,0 +1,253 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable map of classes whose names are known up front but whose models are only parsed on
+ * first lookup.
+ *
+ * <p>Looking up a class with {@link #get(Object)} parses only that class. Iterating over the
+ * values or entries parses every class, so code that only needs part of an artifact should look
+ * its classes up by name, e.g. after walking the {@link #keySet() key set}. Parsed classes are
+ * kept, and concurrent lookups of the same class parse it once.
+ *
+ * <p>Views created by {@link #withoutRetention()} and {@link #restrict(Predicate)} do not keep the
+ * classes they parse, so a class looked up through them can be garbage collected as soon as its
+ * caller is done with it.
+ *
+ * <p>A map may parse its classes from a resource, such as an open jar, which is shared by the maps
+ * derived from it and released by {@link #close()}.
+ */
+public final class LazyClassMap extends AbstractMap<ClassTypeDescriptor, DeclaredClass>
+    implements Closeable {
+
+  /** Parses the model of a single class. */
+  @FunctionalInterface
+  public interface ClassParser {
+
+    /**
+     * Parses the class.
+     *
+     * @return The parsed class model.
+     * @throws IOException If the class could not be read.
+     */
+    DeclaredClass parse() throws IOException;
+  }
+
+  private final Map<ClassTypeDescriptor, ClassParser> parsers;
+  private final Map<ClassTypeDescriptor, DeclaredClass> parsed = new ConcurrentHashMap<>();
+  private final boolean retain;
+  private final @Nullable Closeable source;
+  private volatile @Nullable Consumer<DeclaredClass> parseListener;
+
+  /**
+   * Constructs a lazy class map.
+   *
+   * @param parsers The parser of each class, in iteration order.
+   */
+  public LazyClassMap(Map<ClassTypeDescriptor, ClassParser> parsers) {
+    this(parsers, true, null);
+  }
+
+  /**
+   * Constructs a lazy class map whose classes are parsed from a resource.
+   *
+   * @param parsers The parser of each class, in iteration order.
+   * @param source The resource the classes are parsed from, released by {@link #close()}.
+   */
+  public LazyClassMap(Map<ClassTypeDescriptor, ClassParser> parsers, Closeable source) {
+    this(parsers, true, source);
+  }
+
+  private LazyClassMap(
+      Map<ClassTypeDescriptor, ClassParser> parsers, boolean retain, @Nullable Closeable source) {
+    this.parsers = Collections.unmodifiableMap(new LinkedHashMap<>(parsers));
+    this.retain = retain;
+    this.source = source;
+  }
+
+  @Override
+  public DeclaredClass get(Object key) {
+    ClassParser parser = parsers.get(key);
+    if (parser == null) {
+      return null;
+    }
+    if (!retain) {
+      return parse((ClassTypeDescriptor) key, parser);
+    }
+    boolean[] added = new boolean[1];
+    DeclaredClass clazz =
+        parsed.computeIfAbsent(
+            (ClassTypeDescriptor) key,
+            className -> {
+              added[0] = true;
+              return parse(className, parser);
+            });
+    Consumer<DeclaredClass> listener = parseListener;
+    if (added[0] && listener != null) {
+      listener.accept(clazz);
+    }
+    return clazz;
+  }
+
+  private static DeclaredClass parse(ClassTypeDescriptor className, ClassParser parser) {
+    try {
+      return parser.parse();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to parse class " + className, e);
+    }
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return parsers.containsKey(key);
+  }
+
+  @Override
+  public int size() {
+    return parsers.size();
+  }
+
+  @Override
+  public Set<ClassTypeDescriptor> keySet() {
+    return parsers.keySet();
+  }
+
+  @Override
+  public Set<Entry<ClassTypeDescriptor, DeclaredClass>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<ClassTypeDescriptor, DeclaredClass>> iterator() {
+        Iterator<ClassTypeDescriptor> classNames = parsers.keySet().iterator();
+        return new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return classNames.hasNext();
+          }
+
+          @Override
+          public Entry<ClassTypeDescriptor, DeclaredClass> next() {
+            ClassTypeDescriptor className = classNames.next();
+            return new SimpleImmutableEntry<>(className, get(className));
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return parsers.size();
+      }
+    };
+  }
+
+  /**
+   * Returns a lazy class map whose classes are parsed like the classes of this map and then
+   * transformed.
+   *
+   * <p>The returned map parses each class itself, so the untransformed classes are never kept.
+   *
+   * @param transform The transformation applied to each parsed class.
+   * @return The transformed lazy class map.
+   */
+  public LazyClassMap map(UnaryOperator<DeclaredClass> transform) {
+    Map<ClassTypeDescriptor, ClassParser> transformed = new LinkedHashMap<>();
+    for (Map.Entry<ClassTypeDescriptor, ClassParser> parser : parsers.entrySet()) {
+      ClassParser parse = parser.getValue();
+      transformed.put(parser.getKey(), () -> transform.apply(parse.parse()));
+    }
+    return new LazyClassMap(transformed, true, source);
+  }
+
+  /**
+   * Returns a view of this map which parses each class on every lookup and keeps none of them.
+   *
+   * <p>Classes this map has already parsed are served from this map. Other classes are parsed by
+   * the view without being added to this map, so walking the view once never holds more than the
+   * class at hand.
+   *
+   * @return The view without retention.
+   */
+  public LazyClassMap withoutRetention() {
+    Map<ClassTypeDescriptor, ClassParser> uncached = new LinkedHashMap<>();
+    for (Map.Entry<ClassTypeDescriptor, ClassParser> parser : parsers.entrySet()) {
+      ClassTypeDescriptor className = parser.getKey();
+      ClassParser parse = parser.getValue();
+      uncached.put(
+          className,
+          () -> {
+            DeclaredClass cached = parsed.get(className);
+            return cached != null ? cached : parse.parse();
+          });
+    }
+    return new LazyClassMap(uncached, false, source);
+  }
+
+  /**
+   * Returns a view of the classes of this map whose names match the given predicate.
+   *
+   * <p>Lookups in the view are looked up in this map, so whether classes are kept is decided by
+   * this map alone.
+   *
+   * @param classNames The predicate selecting the classes of the view.
+   * @return The restricted view, in the iteration order of this map.
+   */
+  public LazyClassMap restrict(Predicate<ClassTypeDescriptor> classNames) {
+    Map<ClassTypeDescriptor, ClassParser> restricted = new LinkedHashMap<>();
+    for (ClassTypeDescriptor className : parsers.keySet()) {
+      if (classNames.test(className)) {
+        restricted.put(className, () -> get(className));
+      }
+    }
+    return new LazyClassMap(restricted, false, source);
+  }
+
+  /**
+   * Sets the listener notified of every class this map parses and keeps from then on, e.g. so that
+   * a cache holding the map can account for its growth. Classes parsed by views without retention
+   * are not kept and not reported.
+   *
+   * @param listener The listener, or {@code null} to stop notifying.
+   */
+  public void onParse(@Nullable Consumer<DeclaredClass> listener) {
+    this.parseListener = listener;
+  }
+
+  /**
+   * Returns the classes parsed so far, without parsing any other class.
+   *
+   * @return The parsed classes.
+   */
+  public Collection<DeclaredClass> parsedClasses() {
+    return Collections.unmodifiableCollection(parsed.values());
+  }
+
+  /**
+   * Releases the resource the classes are parsed from, if any. The resource is shared with the
+   * maps derived from this map, and is acquired again if a class is parsed afterwards.
+   *
+   * @throws IOException If the resource could not be released.
+   */
+  @Override
+  public void close() throws IOException {
+    if (source != null) {
+      source.close();
+    }
+  }
+}
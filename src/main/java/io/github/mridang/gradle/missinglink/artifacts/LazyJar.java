@@ -0,0 +1,84 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import com.spotify.missinglink.ClassLoader;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A jar from which the classes of a {@link LazyArtifact} are parsed.
+ *
+ * <p>The jar is opened on the first parse and stays open until it is closed, after which the next
+ * parse opens it again. Closing it therefore releases its file handle, so that the jar is not kept
+ * locked, without invalidating the artifacts that still refer to it. A parse in progress holds off
+ * closing until it is done.
+ */
+final class LazyJar implements Closeable {
+
+  private final File file;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private ZipFile zip;
+
+  /**
+   * Constructs a lazily opened jar.
+   *
+   * @param file The jar file.
+   */
+  LazyJar(File file) {
+    this.file = file;
+  }
+
+  /**
+   * Parses a class of the jar, opening the jar if it is not open.
+   *
+   * @param entryName The name of the class file's entry.
+   * @return The parsed class.
+   * @throws IOException If the jar or the entry could not be read.
+   */
+  DeclaredClass parse(String entryName) throws IOException {
+    lock.readLock().lock();
+    try {
+      ZipFile opened = open();
+      ZipEntry entry = opened.getEntry(entryName);
+      if (entry == null) {
+        throw new IOException("The entry " + entryName + " is missing from " + file);
+      }
+      try (InputStream in = opened.getInputStream(entry)) {
+        return ClassLoader.load(in);
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private synchronized ZipFile open() throws IOException {
+    if (zip == null) {
+      zip = new ZipFile(file);
+    }
+    return zip;
+  }
+
+  @Override
+  public void close() throws IOException {
+    lock.writeLock().lock();
+    try {
+      synchronized (this) {
+        if (zip != null) {
+          try {
+            zip.close();
+          } finally {
+            zip = null;
+          }
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+}
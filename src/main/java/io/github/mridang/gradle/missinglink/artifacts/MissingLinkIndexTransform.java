@@ -0,0 +1,47 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import com.spotify.missinglink.ArtifactLoader;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import org.gradle.api.artifacts.transform.CacheableTransform;
+import org.gradle.api.artifacts.transform.InputArtifact;
+import org.gradle.api.artifacts.transform.TransformAction;
+import org.gradle.api.artifacts.transform.TransformOutputs;
+import org.gradle.api.artifacts.transform.TransformParameters;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Classpath;
+
+/**
+ * Transforms a dependency jar into a serialized {@link ArtifactIndex}.
+ *
+ * <p>Gradle caches the output of the transform, runs it in parallel for all jars, and reuses it
+ * across builds and projects, so the bytecode of an unchanged dependency is only parsed once.
+ */
+@CacheableTransform
+public abstract class MissingLinkIndexTransform
+    implements TransformAction<TransformParameters.None> {
+
+  /** The artifact type produced by this transform. */
+  public static final String ARTIFACT_TYPE = "missinglink-index";
+
+  @InputArtifact
+  @Classpath
+  public abstract Provider<FileSystemLocation> getInputArtifact();
+
+  @Override
+  public void transform(TransformOutputs outputs) {
+    File input = getInputArtifact().get().getAsFile();
+    File index = outputs.file(input.getName() + ArtifactIndex.EXTENSION);
+    try {
+      Artifact artifact = new ArtifactLoader().load(new ArtifactName(input.getName()), input);
+      ArtifactIndex.write(List.of(artifact), index);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to index artifact: " + input, e);
+    }
+  }
+}
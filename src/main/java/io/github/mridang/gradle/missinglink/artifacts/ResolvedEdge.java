@@ -0,0 +1,12 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import java.io.Serializable;
+
+/**
+ * A dependency of a classpath artifact whose requested version was replaced during dependency
+ * resolution, e.g. by conflict resolution, a forced version, a constraint or a substitution.
+ *
+ * @param consumer The name of the artifact declaring the dependency, as {@code group:name:version}.
+ * @param selected The name of the artifact selected in its place, as {@code group:name:version}.
+ */
+public record ResolvedEdge(String consumer, String selected) implements Serializable {}
@@ -0,0 +1,369 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.DeclaredMethod;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A cache of loaded artifacts which lives as long as the Gradle daemon.
+ *
+ * <p>Loaded dependency and bootstrap artifacts survive between builds that run in the same daemon,
+ * so rerunning a check locally does not parse any jar again. The cache is bounded by a heap budget
+ * against which every entry is weighed by an estimate of its retained size, and the least recently
+ * used entries are evicted once the budget is exceeded. A lazy artifact keeps the classes it
+ * parses, so its entry is weighed again as it parses more of them, which may evict other entries.
+ * Entries are only softly referenced, so the garbage collector can reclaim them before the daemon
+ * runs out of memory. Evicted lazy artifacts release the jars they parse their classes from.
+ */
+public final class WarmArtifactCache {
+
+  private static final Logger LOGGER = Logging.getLogger(WarmArtifactCache.class);
+  private static final WarmArtifactCache INSTANCE = new WarmArtifactCache();
+
+  private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+  private final Map<Object, CompletableFuture<Object>> loading = new HashMap<>();
+  private long budget;
+  private long weight;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  private WarmArtifactCache() {}
+
+  /**
+   * Returns the cache of the current daemon.
+   *
+   * @return The daemon-wide cache.
+   */
+  public static WarmArtifactCache instance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Sets the heap budget of the cache, evicting entries if the cache no longer fits.
+   *
+   * @param budgetBytes The heap budget in bytes; {@code 0} disables the cache.
+   */
+  public synchronized void resize(long budgetBytes) {
+    budget = Math.max(budgetBytes, 0);
+    evict();
+  }
+
+  /**
+   * Starts counting the lookups of one caller, such as a single check, separately from those of
+   * the other callers sharing the daemon.
+   *
+   * @return The caller's usage, to pass to the lookups it makes.
+   */
+  public Usage usage() {
+    return new Usage();
+  }
+
+  /**
+   * Wraps a loader so that artifacts are served from, and added to, this cache.
+   *
+   * <p>Directories cannot be fingerprinted cheaply and are always loaded through the delegate.
+   * Concurrent lookups of the same artifact load it once.
+   *
+   * @param delegate The loader used for artifacts not held by the cache.
+   * @param variant The variant of the model the delegate loads artifacts into.
+   * @param usage Counts the lookups made through the loader.
+   * @return The cache-backed loader.
+   */
+  public ClasspathArtifactLoader share(
+      ClasspathArtifactLoader delegate, String variant, Usage usage) {
+    return artifact -> {
+      if (!artifact.file().isFile() || budget() == 0) {
+        return delegate.load(artifact);
+      }
+      ArtifactKey key = ArtifactKey.of(artifact, variant);
+      try {
+        return load(
+            key,
+            Artifact.class,
+            () -> {
+              try {
+                return delegate.load(artifact);
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            },
+            loaded -> {
+              track(key, loaded, loaded);
+              return estimateWeight(loaded);
+            },
+            usage);
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+  }
+
+  /**
+   * Returns the bootstrap artifacts of the running JDK from the cache, loading them if needed.
+   *
+   * @param variant The variant of the model the loader loads the artifacts into.
+   * @param loader Loads the bootstrap artifacts if the cache does not hold them.
+   * @param usage Counts the lookup.
+   * @return The bootstrap artifacts.
+   */
+  public BootstrapArtifacts bootstrap(
+      String variant, Supplier<BootstrapArtifacts> loader, Usage usage) {
+    if (budget() == 0) {
+      return loader.get();
+    }
+    String key =
+        "bootstrap:"
+            + BootstrapArtifacts.snapshotKey(
+                System.getProperty("java.home"), System.getProperty("java.runtime.version"))
+            + ":"
+            + variant;
+    return load(
+        key,
+        BootstrapArtifacts.class,
+        loader,
+        loaded -> {
+          long loadedWeight = 0;
+          for (Artifact artifact : loaded.artifacts()) {
+            track(key, loaded, artifact);
+            loadedWeight += estimateWeight(artifact);
+          }
+          return loadedWeight;
+        },
+        usage);
+  }
+
+  /**
+   * Returns the current statistics of the cache, accumulated over all callers since the daemon
+   * started.
+   *
+   * @return The daemon-wide cache statistics.
+   */
+  public synchronized Stats stats() {
+    return new Stats(hits, misses, evictions, entries.size(), weight);
+  }
+
+  private synchronized long budget() {
+    return budget;
+  }
+
+  /**
+   * Returns a value from the cache, loading it if the cache does not hold it. The first caller to
+   * miss loads the value outside the lock, while concurrent callers of the same key wait for it.
+   */
+  private <T> T load(
+      Object key, Class<T> type, Supplier<T> loader, ToLongFunction<T> weigher, Usage usage) {
+    CompletableFuture<Object> pending;
+    CompletableFuture<Object> loaded = new CompletableFuture<>();
+    synchronized (this) {
+      T cached = get(key, type);
+      if (cached != null) {
+        hits++;
+        usage.hits.incrementAndGet();
+        return cached;
+      }
+      pending = loading.putIfAbsent(key, loaded);
+      if (pending != null) {
+        hits++;
+        usage.hits.incrementAndGet();
+      } else {
+        misses++;
+        usage.misses.incrementAndGet();
+      }
+    }
+    if (pending != null) {
+      try {
+        return type.cast(pending.join());
+      } catch (CompletionException e) {
+        // The load failed for the caller that made it and reports the failure, so retry it here.
+        return load(key, type, loader, weigher, usage);
+      }
+    }
+    try {
+      T value = loader.get();
+      put(key, value, weigher.applyAsLong(value), usage);
+      loaded.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      loaded.completeExceptionally(e);
+      throw e;
+    } finally {
+      synchronized (this) {
+        loading.remove(key);
+      }
+    }
+  }
+
+  private <T> @Nullable T get(Object key, Class<T> type) {
+    Entry entry = entries.get(key);
+    Object value = entry == null ? null : entry.value().get();
+    if (value == null) {
+      if (entry != null) {
+        entries.remove(key);
+        weight -= entry.weight();
+      }
+      return null;
+    }
+    return type.cast(value);
+  }
+
+  private synchronized void put(Object key, Object value, long valueWeight, Usage usage) {
+    if (valueWeight > budget) {
+      LOGGER.debug("Not caching {} as it exceeds the warm cache budget", key);
+      return;
+    }
+    Entry previous = entries.put(key, new Entry(new SoftReference<>(value), valueWeight));
+    if (previous != null) {
+      weight -= previous.weight();
+      release(key, previous);
+    }
+    weight += valueWeight;
+    usage.evictions.addAndGet(evict());
+  }
+
+  /**
+   * Accounts for the classes a cached lazy artifact parses after it was weighed, as long as the
+   * value it belongs to is still cached under the key.
+   */
+  private void track(Object key, Object value, Artifact artifact) {
+    if (artifact.classes() instanceof LazyClassMap lazy) {
+      lazy.onParse(clazz -> grow(key, value, estimateWeight(clazz)));
+    }
+  }
+
+  private synchronized void grow(Object key, Object value, long growth) {
+    Entry entry = entries.get(key);
+    if (entry == null || entry.value().get() != value) {
+      return;
+    }
+    entries.put(key, new Entry(entry.value(), entry.weight() + growth));
+    weight += growth;
+    evict();
+  }
+
+  private int evict() {
+    int evicted = 0;
+    Iterator<Map.Entry<Object, Entry>> eldest = entries.entrySet().iterator();
+    while (weight > budget && eldest.hasNext()) {
+      Map.Entry<Object, Entry> entry = eldest.next();
+      eldest.remove();
+      weight -= entry.getValue().weight();
+      evictions++;
+      evicted++;
+      LOGGER.debug("Evicted {} from the warm cache", entry.getKey());
+      release(entry.getKey(), entry.getValue());
+    }
+    return evicted;
+  }
+
+  private static void release(Object key, Entry entry) {
+    if (entry.value().get() instanceof Closeable closeable) {
+      try {
+        closeable.close();
+      } catch (IOException e) {
+        LOGGER.debug("Failed to release {}", key, e);
+      }
+    }
+  }
+
+  /**
+   * Estimates the heap retained by a loaded artifact from the size of its model.
+   *
+   * <p>Only the classes of a {@link LazyArtifact} parsed so far are weighed, so that weighing does
+   * not parse the rest. The classes it parses once cached are added to its weight as they are
+   * parsed.
+   *
+   * @param artifact The loaded artifact.
+   * @return The estimated retained size in bytes.
+   */
+  static long estimateWeight(Artifact artifact) {
+    if (artifact.classes() instanceof LazyClassMap lazy) {
+      long estimate = 64 + 96L * lazy.size();
+      for (DeclaredClass clazz : lazy.parsedClasses()) {
+        estimate += estimateWeight(clazz);
+      }
+      return estimate;
+    }
+    long estimate = 64;
+    for (DeclaredClass clazz : artifact.classes().values()) {
+      estimate += estimateWeight(clazz);
+    }
+    return estimate;
+  }
+
+  private static long estimateWeight(DeclaredClass clazz) {
+    long estimate = 160 + 32L * (clazz.parents().size() + clazz.loadedClasses().size());
+    estimate += 48L * clazz.fields().size();
+    for (DeclaredMethod method : clazz.methods().values()) {
+      estimate += 120 + 72L * (method.methodCalls().size() + method.fieldAccesses().size());
+    }
+    return estimate;
+  }
+
+  private record Entry(SoftReference<Object> value, long weight) {}
+
+  /**
+   * Statistics of the warm cache across all of its callers.
+   *
+   * @param hits The number of lookups served from the cache.
+   * @param misses The number of lookups that had to load the artifact.
+   * @param evictions The number of entries evicted to stay within the budget.
+   * @param entries The number of entries currently held.
+   * @param weight The estimated heap retained by the current entries, in bytes.
+   */
+  public record Stats(long hits, long misses, long evictions, int entries, long weight) {}
+
+  /** The lookups of a single caller of the warm cache. */
+  public static final class Usage {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private Usage() {}
+
+    /**
+     * Returns the number of the caller's lookups served from the cache, including those that
+     * waited for another caller to load the same artifact.
+     *
+     * @return The number of hits.
+     */
+    public long hits() {
+      return hits.get();
+    }
+
+    /**
+     * Returns the number of the caller's lookups that had to load the artifact.
+     *
+     * @return The number of misses.
+     */
+    public long misses() {
+      return misses.get();
+    }
+
+    /**
+     * Returns the number of entries evicted to make room for the artifacts the caller loaded.
+     *
+     * @return The number of evictions.
+     */
+    public long evictions() {
+      return evictions.get();
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactBuilder;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Only rechecks the references whose resolution may differ from a previous check.
+ *
+ * <p>A stable class is declared by the same unchanged artifact as in the previous check, and so is
+ * its whole hierarchy. Unstable classes are checked in full, while only the references of stable
+ * classes into unstable classes are checked, as their other references resolve as before and their
+ * previous conflicts can be reused.
+ */
+public final class BaselineConflictChecker implements MissingLinkChecker {
+
+  private final MissingLinkChecker delegate;
+  private final Set<ClassTypeDescriptor> stable;
+
+  /**
+   * Constructs a checker limited to the references that changed since a previous check.
+   *
+   * @param delegate The checker that resolves the rechecked references.
+   * @param stable The stable classes.
+   */
+  public BaselineConflictChecker(MissingLinkChecker delegate, Set<ClassTypeDescriptor> stable) {
+    this.delegate = delegate;
+    this.stable = Set.copyOf(stable);
+  }
+
+  @Override
+  public Prepared prepare(Artifact project, List<Artifact> allArtifacts) {
+    Prepared prepared = delegate.prepare(project, allArtifacts);
+    return artifactsToCheck -> {
+      List<Artifact> rechecked = new ArrayList<>(artifactsToCheck.size());
+      for (Artifact artifact : artifactsToCheck) {
+        Map<ClassTypeDescriptor, DeclaredClass> classes = new LinkedHashMap<>();
+        Map<ClassTypeDescriptor, DeclaredClass> stableClasses = new LinkedHashMap<>();
+        for (Map.Entry<ClassTypeDescriptor, DeclaredClass> clazz : artifact.classes().entrySet()) {
+          (stable.contains(clazz.getKey()) ? stableClasses : classes)
+              .put(clazz.getKey(), clazz.getValue());
+        }
+        Artifact stripped =
+            ReferenceFilter.retain(
+                    List.of(
+                        new ArtifactBuilder().name(artifact.name()).classes(stableClasses).build()),
+                    call -> !stable.contains(call.owner()),
+                    access -> !stable.contains(access.owner()))
+                .get(0);
+        classes.putAll(stripped.classes());
+        rechecked.add(new ArtifactBuilder().name(artifact.name()).classes(classes).build());
+      }
+      return prepared.check(rechecked);
+    };
+  }
+}
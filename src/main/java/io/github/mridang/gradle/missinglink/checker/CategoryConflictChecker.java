@@ -0,0 +1,59 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import com.spotify.missinglink.Conflict;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Only checks the references that can cause conflicts of the included categories.
+ *
+ * <p>A reference to a class that no artifact declares can only be a {@link
+ * Conflict.ConflictCategory#CLASS_NOT_FOUND missing class}, whereas a reference to a declared class
+ * can only be a missing method or field, which is found by resolving the reference through the
+ * class hierarchy. The references that cannot cause a conflict of an included category are dropped
+ * before the delegate resolves the rest, so that, for example, checking only for missing classes
+ * resolves no member at all.
+ */
+public final class CategoryConflictChecker implements MissingLinkChecker {
+
+  private final MissingLinkChecker delegate;
+  private final Set<Conflict.ConflictCategory> categories;
+
+  /**
+   * Constructs a checker limited to the given categories.
+   *
+   * @param delegate The checker that resolves the remaining references.
+   * @param categories The categories of the conflicts to report.
+   */
+  public CategoryConflictChecker(
+      MissingLinkChecker delegate, Set<Conflict.ConflictCategory> categories) {
+    this.delegate = delegate;
+    this.categories =
+        categories.isEmpty()
+            ? EnumSet.noneOf(Conflict.ConflictCategory.class)
+            : EnumSet.copyOf(categories);
+  }
+
+  @Override
+  public Prepared prepare(Artifact project, List<Artifact> allArtifacts) {
+    Prepared prepared = delegate.prepare(project, allArtifacts);
+    Map<ClassTypeDescriptor, String> owners = ReferenceFilter.ownersOf(allArtifacts);
+    boolean classes = categories.contains(Conflict.ConflictCategory.CLASS_NOT_FOUND);
+    boolean methods = categories.contains(Conflict.ConflictCategory.METHOD_SIGNATURE_NOT_FOUND);
+    boolean fields = categories.contains(Conflict.ConflictCategory.FIELD_NOT_FOUND);
+    return artifactsToCheck ->
+        prepared
+            .check(
+                ReferenceFilter.retain(
+                    artifactsToCheck,
+                    call -> owners.containsKey(call.owner()) ? methods : classes,
+                    access -> owners.containsKey(access.owner()) ? fields : classes))
+            .stream()
+            .filter(conflict -> categories.contains(conflict.category()))
+            .toList();
+  }
+}
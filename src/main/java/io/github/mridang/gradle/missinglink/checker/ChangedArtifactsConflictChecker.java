@@ -0,0 +1,53 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Only checks the references into artifacts whose version changed since compilation.
+ *
+ * <p>A reference can only fail at runtime if the class it names comes from a different artifact
+ * than the one it was compiled against. Each reference is attributed to the first artifact on the
+ * classpath declaring its owner, and references into an unchanged artifact, including the JDK, are
+ * dropped before the delegate resolves the rest. References to classes that no artifact declares
+ * are kept, so missing classes are still reported.
+ *
+ * <p>Conflicts that only arise from classes moving between unchanged artifacts, or from a JDK that
+ * differs from the compile JDK, are not reported in this mode.
+ */
+public final class ChangedArtifactsConflictChecker implements MissingLinkChecker {
+
+  private final MissingLinkChecker delegate;
+  private final Set<String> changedArtifacts;
+
+  /**
+   * Constructs a checker limited to changed artifacts.
+   *
+   * @param delegate The checker that resolves the references into changed artifacts.
+   * @param changedArtifacts The names of the artifacts whose version changed.
+   */
+  public ChangedArtifactsConflictChecker(
+      MissingLinkChecker delegate, Set<String> changedArtifacts) {
+    this.delegate = delegate;
+    this.changedArtifacts = Set.copyOf(changedArtifacts);
+  }
+
+  @Override
+  public Prepared prepare(Artifact project, List<Artifact> allArtifacts) {
+    Prepared prepared = delegate.prepare(project, allArtifacts);
+    Map<ClassTypeDescriptor, String> owners = ReferenceFilter.ownersOf(allArtifacts);
+    return artifactsToCheck ->
+        prepared.check(
+            ReferenceFilter.retain(
+                artifactsToCheck,
+                call -> isChanged(owners.get(call.owner())),
+                access -> isChanged(owners.get(access.owner()))));
+  }
+
+  private boolean isChanged(String owner) {
+    return owner == null || changedArtifacts.contains(owner);
+  }
+}
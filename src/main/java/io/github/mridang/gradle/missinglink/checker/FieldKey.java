@@ -0,0 +1,12 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import com.spotify.missinglink.datamodel.DeclaredField;
+import com.spotify.missinglink.datamodel.TypeDescriptor;
+
+/**
+ * Identifies a field by its name and type, like {@link DeclaredField}.
+ *
+ * @param name The name of the field.
+ * @param descriptor The type of the field.
+ */
+record FieldKey(String name, TypeDescriptor descriptor) {}
@@ -0,0 +1,66 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactBuilder;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import io.github.mridang.gradle.missinglink.artifacts.LazyArtifact;
+import io.github.mridang.gradle.missinglink.artifacts.LazyClassMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Does not check the classes whose conflicts would be ignored.
+ *
+ * <p>A conflict belongs to the class that makes the failing call or access, so the conflicts of a
+ * class in an ignored source package would all be dropped from the result. Such classes are
+ * removed from the artifacts to check before the delegate resolves any of their references. They
+ * remain on the classpath, so references into them are still resolved. Lazy artifacts are
+ * restricted to lazy views, so that ignored classes are never parsed.
+ */
+public final class IgnoredSourcesConflictChecker implements MissingLinkChecker {
+
+  private final MissingLinkChecker delegate;
+  private final Predicate<ClassTypeDescriptor> ignored;
+
+  /**
+   * Constructs a checker that skips ignored classes.
+   *
+   * @param delegate The checker that checks the remaining classes.
+   * @param ignored Selects the classes whose conflicts are ignored.
+   */
+  public IgnoredSourcesConflictChecker(
+      MissingLinkChecker delegate, Predicate<ClassTypeDescriptor> ignored) {
+    this.delegate = delegate;
+    this.ignored = ignored;
+  }
+
+  @Override
+  public Prepared prepare(Artifact project, List<Artifact> allArtifacts) {
+    Prepared prepared = delegate.prepare(project, allArtifacts);
+    Predicate<ClassTypeDescriptor> checked = ignored.negate();
+    return artifactsToCheck -> {
+      List<Artifact> remaining = new ArrayList<>(artifactsToCheck.size());
+      for (Artifact artifact : artifactsToCheck) {
+        remaining.add(restrict(artifact, checked));
+      }
+      return prepared.check(remaining);
+    };
+  }
+
+  private static Artifact restrict(Artifact artifact, Predicate<ClassTypeDescriptor> checked) {
+    if (artifact.classes() instanceof LazyClassMap lazy) {
+      return new LazyArtifact(artifact.name(), lazy.restrict(checked));
+    }
+    Map<ClassTypeDescriptor, DeclaredClass> classes = new LinkedHashMap<>();
+    for (Map.Entry<ClassTypeDescriptor, DeclaredClass> clazz : artifact.classes().entrySet()) {
+      if (checked.test(clazz.getKey())) {
+        classes.put(clazz.getKey(), clazz.getValue());
+      }
+    }
+    return new ArtifactBuilder().name(artifact.name()).classes(classes).build();
+  }
+}
@@ -0,0 +1,445 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import com.spotify.missinglink.Conflict;
+import com.spotify.missinglink.ConflictBuilder;
+import com.spotify.missinglink.ConflictChecker;
+import com.spotify.missinglink.datamodel.AccessedField;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.CalledMethod;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.DeclaredField;
+import com.spotify.missinglink.datamodel.DeclaredMethod;
+import com.spotify.missinglink.datamodel.Dependency;
+import com.spotify.missinglink.datamodel.FieldDependencyBuilder;
+import com.spotify.missinglink.datamodel.MethodDependencyBuilder;
+import com.spotify.missinglink.datamodel.MethodDescriptor;
+import com.spotify.missinglink.datamodel.TypeDescriptors;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Checks the classpath against an index of interned descriptors.
+ *
+ * <p>The Spotify checker resolves every reference by hashing descriptor objects, once for each
+ * class on the way up the hierarchy, and resolves the same reference again at every call site.
+ * This checker instead hash-conses the class, method and field descriptors of the classpath into
+ * integer ids once, records the declared members in primitive-keyed hash tables, and memoizes the
+ * resolution of each member in each class. It reports the same conflicts as the Spotify checker,
+ * in the same order.
+ *
+ * <p>The index is read-only once prepared, so shards of the classpath can be checked concurrently
+ * against it. Each check memoizes its resolutions separately.
+ */
+public final class IndexedConflictChecker implements MissingLinkChecker {
+
+  private static final ClassTypeDescriptor NO_CLASS_DEF_FOUND_ERROR =
+      TypeDescriptors.fromClassName("java/lang/NoClassDefFoundError");
+  private static final ClassTypeDescriptor NO_SUCH_METHOD_ERROR =
+      TypeDescriptors.fromClassName("java/lang/NoSuchMethodError");
+  private static final ClassTypeDescriptor NO_SUCH_FIELD_ERROR =
+      TypeDescriptors.fromClassName("java/lang/NoSuchFieldError");
+
+  @Override
+  public Prepared prepare(Artifact project, List<Artifact> allArtifacts) {
+    Index index = new Index(allArtifacts, project.classes().values());
+    return artifactsToCheck -> new Resolver(index).check(artifactsToCheck);
+  }
+
+  private static Dependency dependency(
+      DeclaredClass clazz, DeclaredMethod method, CalledMethod call) {
+    return new MethodDependencyBuilder()
+        .fromClass(clazz.className())
+        .fromMethod(method.descriptor())
+        .fromLineNumber(call.lineNumber())
+        .targetClass(call.owner())
+        .targetMethod(call.descriptor())
+        .build();
+  }
+
+  private static Dependency dependency(
+      DeclaredClass clazz, DeclaredMethod method, AccessedField access) {
+    return new FieldDependencyBuilder()
+        .fromClass(clazz.className())
+        .fromMethod(method.descriptor())
+        .fromLineNumber(access.lineNumber())
+        .targetClass(access.owner())
+        .fieldType(access.descriptor())
+        .fieldName(access.name())
+        .build();
+  }
+
+  private static Conflict conflict(
+      Conflict.ConflictCategory category,
+      String reason,
+      Dependency dependency,
+      ArtifactName usedBy,
+      @Nullable ArtifactName existsIn) {
+    return new ConflictBuilder()
+        .category(category)
+        .reason(reason)
+        .dependency(dependency)
+        .usedBy(usedBy)
+        .existsIn(existsIn != null ? existsIn : ConflictChecker.UNKNOWN_ARTIFACT_NAME)
+        .build();
+  }
+
+  /**
+   * The interned classes and members of the classpath.
+   *
+   * <p>Every class on the classpath is interned by name, but only the classes reachable from the
+   * project, and the classes they reference together with their ancestors, are parsed to index
+   * their hierarchy and members, as no other class can take part in a conflict. The index keeps
+   * only ids and primitive tables, never the classes it was built from, so the classes of lazy
+   * artifacts can be released once they are indexed.
+   */
+  private static final class Index {
+
+    private static final int INSTANCE = 0;
+    private static final int STATIC = 1;
+    private static final int[] NO_CLASSES = new int[0];
+
+    private final SymbolTable<ClassTypeDescriptor> classes = new SymbolTable<>();
+    private final SymbolTable<MethodDescriptor> methods = new SymbolTable<>();
+    private final SymbolTable<FieldKey> fields = new SymbolTable<>();
+    private final BitSet known = new BitSet();
+    private final BitSet indexed = new BitSet();
+    private final BitSet reachable = new BitSet();
+    private final List<ArtifactName> sources = new ArrayList<>();
+    private final List<int[]> parents = new ArrayList<>();
+    private final List<int[]> loadedClasses = new ArrayList<>();
+    private final LongIntHashMap declaredMethods = new LongIntHashMap(1024);
+    private final LongIntHashMap declaredFields = new LongIntHashMap(256);
+
+    /**
+     * Indexes the classes of the given artifacts that are reachable from the given classes through
+     * their parents and the classes they load. A class declared by several artifacts resolves to
+     * the first of them, as on the classpath. The index is read-only once constructed.
+     *
+     * @param artifacts The artifacts to index, in classpath order.
+     * @param roots The classes from which reachability is computed.
+     */
+    Index(List<Artifact> artifacts, Collection<DeclaredClass> roots) {
+      List<Map<ClassTypeDescriptor, DeclaredClass>> declaring = new ArrayList<>();
+      Map<Integer, List<Map<ClassTypeDescriptor, DeclaredClass>>> shadowing = new HashMap<>();
+      for (Artifact artifact : artifacts) {
+        for (ClassTypeDescriptor className : artifact.classes().keySet()) {
+          int classId = intern(className);
+          if (known.get(classId)) {
+            shadowing.computeIfAbsent(classId, id -> new ArrayList<>()).add(artifact.classes());
+            continue;
+          }
+          known.set(classId);
+          sources.set(classId, artifact.name());
+          while (declaring.size() <= classId) {
+            declaring.add(null);
+          }
+          declaring.set(classId, artifact.classes());
+        }
+      }
+
+      Deque<Integer> remaining = new ArrayDeque<>();
+      Deque<Integer> referenced = new ArrayDeque<>();
+      for (DeclaredClass root : roots) {
+        int classId = intern(root.className());
+        if (!reachable.get(classId)) {
+          reachable.set(classId);
+          enqueueKnown(intern(root.parents()), remaining);
+          enqueueKnown(intern(root.loadedClasses()), remaining);
+          enqueueReferenced(root, referenced);
+          if (known.get(classId)) {
+            index(classId, declaring, shadowing, referenced);
+          }
+        }
+      }
+      while (!remaining.isEmpty()) {
+        int classId = remaining.pop();
+        if (!reachable.get(classId)) {
+          reachable.set(classId);
+          index(classId, declaring, shadowing, referenced);
+          enqueueKnown(parents.get(classId), remaining);
+          enqueueKnown(loadedClasses.get(classId), remaining);
+        }
+      }
+      while (!referenced.isEmpty()) {
+        int classId = referenced.pop();
+        if (!indexed.get(classId)) {
+          index(classId, declaring, shadowing, referenced);
+          enqueueKnown(parents.get(classId), referenced);
+        }
+      }
+    }
+
+    /**
+     * Indexes the hierarchy and members of a known class. If the class is reachable, the classes
+     * it references are queued to be indexed too, as are those referenced by the later artifacts
+     * declaring the same class, since all of them are checked.
+     */
+    private void index(
+        int classId,
+        List<Map<ClassTypeDescriptor, DeclaredClass>> declaring,
+        Map<Integer, List<Map<ClassTypeDescriptor, DeclaredClass>>> shadowing,
+        Deque<Integer> referenced) {
+      if (indexed.get(classId)) {
+        return;
+      }
+      indexed.set(classId);
+      ClassTypeDescriptor className = classes.value(classId);
+      DeclaredClass clazz = declaring.get(classId).get(className);
+      parents.set(classId, intern(clazz.parents()));
+      loadedClasses.set(classId, intern(clazz.loadedClasses()));
+      for (DeclaredMethod method : clazz.methods().values()) {
+        declaredMethods.put(
+            LongIntHashMap.key(classId, methods.intern(method.descriptor())),
+            method.isStatic() ? STATIC : INSTANCE);
+      }
+      for (DeclaredField field : clazz.fields()) {
+        declaredFields.put(
+            LongIntHashMap.key(
+                classId, fields.intern(new FieldKey(field.name(), field.descriptor()))),
+            0);
+      }
+      if (reachable.get(classId)) {
+        enqueueReferenced(clazz, referenced);
+        for (Map<ClassTypeDescriptor, DeclaredClass> shadowed :
+            shadowing.getOrDefault(classId, List.of())) {
+          enqueueReferenced(shadowed.get(className), referenced);
+        }
+      }
+    }
+
+    private void enqueueReferenced(DeclaredClass clazz, Deque<Integer> referenced) {
+      for (DeclaredMethod method : clazz.methods().values()) {
+        for (CalledMethod call : method.methodCalls()) {
+          enqueueKnown(intern(call.owner()), referenced);
+        }
+        for (AccessedField access : method.fieldAccesses()) {
+          enqueueKnown(intern(access.owner()), referenced);
+        }
+      }
+    }
+
+    private void enqueueKnown(int[] classIds, Deque<Integer> queue) {
+      for (int classId : classIds) {
+        enqueueKnown(classId, queue);
+      }
+    }
+
+    private void enqueueKnown(int classId, Deque<Integer> queue) {
+      if (known.get(classId)) {
+        queue.add(classId);
+      }
+    }
+
+    private int intern(ClassTypeDescriptor className) {
+      int classId = classes.intern(className);
+      if (classId == sources.size()) {
+        sources.add(null);
+        parents.add(NO_CLASSES);
+        loadedClasses.add(NO_CLASSES);
+      }
+      return classId;
+    }
+
+    private int[] intern(Collection<ClassTypeDescriptor> classNames) {
+      int[] classIds = new int[classNames.size()];
+      int i = 0;
+      for (ClassTypeDescriptor className : classNames) {
+        classIds[i++] = intern(className);
+      }
+      return classIds;
+    }
+
+    /**
+     * Returns the id of a class on the classpath.
+     *
+     * @param className The class.
+     * @return The class's id, or {@code -1} if the class was never interned.
+     */
+    int classId(ClassTypeDescriptor className) {
+      return classes.find(className);
+    }
+
+    boolean isKnown(int classId) {
+      return classId >= 0 && known.get(classId);
+    }
+
+    boolean isReachable(int classId) {
+      return classId >= 0 && reachable.get(classId);
+    }
+
+    @Nullable
+    ArtifactName source(int classId) {
+      return classId >= 0 ? sources.get(classId) : null;
+    }
+  }
+
+  /** Checks classes against an index, memoizing the resolution of each member in each class. */
+  private static final class Resolver {
+
+    private static final int PRESENT = 0;
+    private static final int MISSING = 1;
+
+    private final Index index;
+    private final LongIntHashMap resolvedMethods = new LongIntHashMap(1024);
+    private final LongIntHashMap resolvedFields = new LongIntHashMap(256);
+
+    Resolver(Index index) {
+      this.index = index;
+    }
+
+    List<Conflict> check(List<Artifact> artifactsToCheck) {
+      List<Conflict> conflicts = new ArrayList<>();
+      for (Artifact artifact : artifactsToCheck) {
+        List<DeclaredClass> reachable = new ArrayList<>();
+        for (ClassTypeDescriptor className : artifact.classes().keySet()) {
+          if (index.isReachable(index.classId(className))) {
+            reachable.add(artifact.classes().get(className));
+          }
+        }
+        // Like the Spotify checker, report the method calls of an artifact before its field
+        // accesses.
+        for (DeclaredClass clazz : reachable) {
+          for (DeclaredMethod method : clazz.methods().values()) {
+            checkMethodCalls(artifact.name(), clazz, method, conflicts);
+          }
+        }
+        for (DeclaredClass clazz : reachable) {
+          for (DeclaredMethod method : clazz.methods().values()) {
+            checkFieldAccesses(artifact.name(), clazz, method, conflicts);
+          }
+        }
+      }
+      return conflicts;
+    }
+
+    private void checkMethodCalls(
+        ArtifactName usedBy, DeclaredClass clazz, DeclaredMethod method, List<Conflict> conflicts) {
+      for (CalledMethod call : method.methodCalls()) {
+        int owner = index.classId(call.owner());
+        if (!index.isKnown(owner)) {
+          if (!call.caughtExceptions().contains(NO_CLASS_DEF_FOUND_ERROR)) {
+            conflicts.add(
+                conflict(
+                    Conflict.ConflictCategory.CLASS_NOT_FOUND,
+                    "Class not found: " + call.owner(),
+                    dependency(clazz, method, call),
+                    usedBy,
+                    index.source(owner)));
+          }
+        } else if (isMethodMissing(
+                owner, index.methods.find(call.descriptor()), call.isStatic())
+            && !call.caughtExceptions().contains(NO_SUCH_METHOD_ERROR)) {
+          conflicts.add(
+              conflict(
+                  Conflict.ConflictCategory.METHOD_SIGNATURE_NOT_FOUND,
+                  "Method not found: " + call.pretty(),
+                  dependency(clazz, method, call),
+                  usedBy,
+                  index.source(owner)));
+        }
+      }
+    }
+
+    private void checkFieldAccesses(
+        ArtifactName usedBy, DeclaredClass clazz, DeclaredMethod method, List<Conflict> conflicts) {
+      for (AccessedField access : method.fieldAccesses()) {
+        int owner = index.classId(access.owner());
+        if (!index.isKnown(owner)) {
+          if (!access.caughtExceptions().contains(NO_CLASS_DEF_FOUND_ERROR)) {
+            conflicts.add(
+                conflict(
+                    Conflict.ConflictCategory.CLASS_NOT_FOUND,
+                    "Class not found: " + access.owner(),
+                    dependency(clazz, method, access),
+                    usedBy,
+                    index.source(owner)));
+          }
+        } else if (isFieldMissing(
+                owner, index.fields.find(new FieldKey(access.name(), access.descriptor())))
+            && !access.caughtExceptions().contains(NO_SUCH_FIELD_ERROR)) {
+          conflicts.add(
+              conflict(
+                  Conflict.ConflictCategory.FIELD_NOT_FOUND,
+                  "Field not found: " + access.name(),
+                  dependency(clazz, method, access),
+                  usedBy,
+                  index.source(owner)));
+        }
+      }
+    }
+
+    /**
+     * Returns whether a method cannot be resolved in a known class or any of its known ancestors.
+     * A method declared with the wrong staticness counts as missing.
+     *
+     * @param classId The id of the known class.
+     * @param methodId The id of the method, or {@code -1} if no class declares it.
+     * @param isStatic Whether the method is called statically.
+     * @return {@code true} if the method is missing.
+     */
+    private boolean isMethodMissing(int classId, int methodId, boolean isStatic) {
+      if (methodId < 0) {
+        return true;
+      }
+      int staticness = isStatic ? Index.STATIC : Index.INSTANCE;
+      long key = LongIntHashMap.key(classId, (methodId << 1) | staticness);
+      int resolved = resolvedMethods.get(key, -1);
+      if (resolved != -1) {
+        return resolved == MISSING;
+      }
+      boolean missing = true;
+      int declared = index.declaredMethods.get(LongIntHashMap.key(classId, methodId), -1);
+      if (declared != -1) {
+        missing = declared != staticness;
+      } else {
+        for (int parent : index.parents.get(classId)) {
+          if (index.isKnown(parent) && !isMethodMissing(parent, methodId, isStatic)) {
+            missing = false;
+            break;
+          }
+        }
+      }
+      resolvedMethods.put(key, missing ? MISSING : PRESENT);
+      return missing;
+    }
+
+    /**
+     * Returns whether a field cannot be resolved in a known class or any of its known ancestors.
+     *
+     * @param classId The id of the known class.
+     * @param fieldId The id of the field, or {@code -1} if no class declares it.
+     * @return {@code true} if the field is missing.
+     */
+    private boolean isFieldMissing(int classId, int fieldId) {
+      if (fieldId < 0) {
+        return true;
+      }
+      long key = LongIntHashMap.key(classId, fieldId);
+      if (index.declaredFields.containsKey(key)) {
+        return false;
+      }
+      int resolved = resolvedFields.get(key, -1);
+      if (resolved != -1) {
+        return resolved == MISSING;
+      }
+      boolean missing = true;
+      for (int parent : index.parents.get(classId)) {
+        if (index.isKnown(parent) && !isFieldMissing(parent, fieldId)) {
+          missing = false;
+          break;
+        }
+      }
+      resolvedFields.put(key, missing ? MISSING : PRESENT);
+      return missing;
+    }
+  }
+}
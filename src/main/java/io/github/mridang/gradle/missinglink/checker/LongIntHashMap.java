@@ -0,0 +1,137 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from non-negative {@code long} keys to {@code int} values.
+ *
+ * <p>Keys and values are stored in parallel primitive arrays and probed linearly, so lookups
+ * neither box nor allocate. Keys are typically two ids packed with {@link #key(int, int)}.
+ */
+final class LongIntHashMap {
+
+  private static final long EMPTY = -1L;
+  private static final float LOAD_FACTOR = 0.5f;
+
+  private long[] keys;
+  private int[] values;
+  private int size;
+
+  /**
+   * Constructs a map sized for the given number of entries.
+   *
+   * @param expectedSize The number of entries expected, beyond which the map grows.
+   */
+  LongIntHashMap(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+    keys = new long[capacity];
+    values = new int[capacity];
+    Arrays.fill(keys, EMPTY);
+  }
+
+  /**
+   * Packs two ids into a key.
+   *
+   * @param high The id stored in the upper 32 bits.
+   * @param low The id stored in the lower 32 bits.
+   * @return The key.
+   */
+  static long key(int high, int low) {
+    return ((long) high << 32) | (low & 0xffffffffL);
+  }
+
+  /**
+   * Returns the value of a key.
+   *
+   * @param key The non-negative key.
+   * @param missing The value returned if the key is absent.
+   * @return The key's value, or {@code missing}.
+   */
+  int get(long key, int missing) {
+    int mask = keys.length - 1;
+    for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+      long candidate = keys[slot];
+      if (candidate == key) {
+        return values[slot];
+      }
+      if (candidate == EMPTY) {
+        return missing;
+      }
+    }
+  }
+
+  /**
+   * Returns whether the map contains a key.
+   *
+   * @param key The non-negative key.
+   * @return {@code true} if the key is present.
+   */
+  boolean containsKey(long key) {
+    int mask = keys.length - 1;
+    for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+      long candidate = keys[slot];
+      if (candidate == key) {
+        return true;
+      }
+      if (candidate == EMPTY) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Associates a value with a key, replacing any previous value.
+   *
+   * @param key The non-negative key.
+   * @param value The value.
+   */
+  void put(long key, int value) {
+    if (key < 0) {
+      throw new IllegalArgumentException("Keys must not be negative: " + key);
+    }
+    int mask = keys.length - 1;
+    int slot = slot(key, mask);
+    while (keys[slot] != EMPTY && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    boolean added = keys[slot] == EMPTY;
+    keys[slot] = key;
+    values[slot] = value;
+    if (added && ++size > keys.length * LOAD_FACTOR) {
+      grow();
+    }
+  }
+
+  /**
+   * Returns the number of entries.
+   *
+   * @return The number of entries.
+   */
+  int size() {
+    return size;
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    keys = new long[oldKeys.length * 2];
+    values = new int[oldValues.length * 2];
+    Arrays.fill(keys, EMPTY);
+    int mask = keys.length - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        int slot = slot(oldKeys[i], mask);
+        while (keys[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private static int slot(long key, int mask) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+}
@@ -0,0 +1,54 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import com.spotify.missinglink.Conflict;
+import com.spotify.missinglink.datamodel.Artifact;
+import java.util.List;
+
+/**
+ * Resolves the method calls and field accesses of the classpath and reports those that would fail
+ * at runtime.
+ *
+ * <p>Every engine reports the same {@link Conflict conflicts} for the same input, so that the
+ * reports do not depend on the engine that found them.
+ */
+public interface MissingLinkChecker {
+
+  /** A check prepared against a fixed project and classpath. */
+  @FunctionalInterface
+  interface Prepared {
+
+    /**
+     * Checks the classes of the given artifacts which are reachable from the project's classes.
+     *
+     * <p>Implementations must allow concurrent calls, so that disjoint shards of the classpath can
+     * be checked in parallel.
+     *
+     * @param artifactsToCheck The artifacts whose classes are checked.
+     * @return The conflicts found, in the order of the checked artifacts, classes and methods, with
+     *     the method call conflicts of each artifact before its field access conflicts.
+     */
+    List<Conflict> check(List<Artifact> artifactsToCheck);
+  }
+
+  /**
+   * Prepares checking classes against the given classpath.
+   *
+   * @param project The project classes, from which reachability is computed.
+   * @param allArtifacts The artifacts against which references are resolved, in classpath order.
+   * @return The prepared check.
+   */
+  Prepared prepare(Artifact project, List<Artifact> allArtifacts);
+
+  /**
+   * Checks the classes of the given artifacts which are reachable from the project's classes.
+   *
+   * @param project The project classes, from which reachability is computed.
+   * @param artifactsToCheck The artifacts whose classes are checked.
+   * @param allArtifacts The artifacts against which references are resolved, in classpath order.
+   * @return The conflicts found, in the order of the checked artifacts, classes and methods.
+   */
+  default List<Conflict> check(
+      Artifact project, List<Artifact> artifactsToCheck, List<Artifact> allArtifacts) {
+    return prepare(project, allArtifacts).check(artifactsToCheck);
+  }
+}
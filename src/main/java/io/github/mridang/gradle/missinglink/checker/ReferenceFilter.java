@@ -0,0 +1,101 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import com.spotify.missinglink.datamodel.AccessedField;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactBuilder;
+import com.spotify.missinglink.datamodel.CalledMethod;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.DeclaredClassBuilder;
+import com.spotify.missinglink.datamodel.DeclaredMethod;
+import com.spotify.missinglink.datamodel.DeclaredMethodBuilder;
+import com.spotify.missinglink.datamodel.MethodDescriptor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/** Strips artifacts down to the references that a checker still has to resolve. */
+final class ReferenceFilter {
+
+  private static final Logger LOGGER = Logging.getLogger(ReferenceFilter.class);
+
+  private ReferenceFilter() {}
+
+  /**
+   * Maps every class of the given artifacts to the name of the first artifact declaring it, as on
+   * the classpath, without parsing any class.
+   *
+   * @param artifacts The artifacts, in classpath order.
+   * @return The name of the artifact declaring each class.
+   */
+  static Map<ClassTypeDescriptor, String> ownersOf(List<Artifact> artifacts) {
+    Map<ClassTypeDescriptor, String> owners = new HashMap<>();
+    for (Artifact artifact : artifacts) {
+      String name = artifact.name().name();
+      for (ClassTypeDescriptor className : artifact.classes().keySet()) {
+        owners.putIfAbsent(className, name);
+      }
+    }
+    return owners;
+  }
+
+  /**
+   * Keeps only the method calls and field accesses matching the given predicates. Methods and
+   * classes left without references are dropped, as they cannot have conflicts.
+   *
+   * @param artifacts The artifacts to check.
+   * @param calls Selects the method calls to keep.
+   * @param accesses Selects the field accesses to keep.
+   * @return The artifacts holding only the kept references, in the same order.
+   */
+  static List<Artifact> retain(
+      List<Artifact> artifacts, Predicate<CalledMethod> calls, Predicate<AccessedField> accesses) {
+    long references = 0;
+    long retained = 0;
+    List<Artifact> stripped = new ArrayList<>(artifacts.size());
+    for (Artifact artifact : artifacts) {
+      Map<ClassTypeDescriptor, DeclaredClass> classes = new LinkedHashMap<>();
+      for (DeclaredClass clazz : artifact.classes().values()) {
+        Map<MethodDescriptor, DeclaredMethod> methods = new LinkedHashMap<>();
+        for (DeclaredMethod method : clazz.methods().values()) {
+          List<CalledMethod> keptCalls =
+              method.methodCalls().stream().filter(calls).toList();
+          List<AccessedField> keptAccesses =
+              method.fieldAccesses().stream().filter(accesses).toList();
+          references += method.methodCalls().size() + method.fieldAccesses().size();
+          retained += keptCalls.size() + keptAccesses.size();
+          if (!keptCalls.isEmpty() || !keptAccesses.isEmpty()) {
+            methods.put(
+                method.descriptor(),
+                new DeclaredMethodBuilder()
+                    .descriptor(method.descriptor())
+                    .isStatic(method.isStatic())
+                    .lineNumber(method.lineNumber())
+                    .methodCalls(keptCalls)
+                    .fieldAccesses(keptAccesses)
+                    .build());
+          }
+        }
+        if (!methods.isEmpty()) {
+          classes.put(
+              clazz.className(),
+              new DeclaredClassBuilder()
+                  .className(clazz.className())
+                  .parents(clazz.parents())
+                  .loadedClasses(clazz.loadedClasses())
+                  .fields(clazz.fields())
+                  .methods(methods)
+                  .build());
+        }
+      }
+      stripped.add(new ArtifactBuilder().name(artifact.name()).classes(classes).build());
+    }
+    LOGGER.debug("Resolving {} of {} references", retained, references);
+    return stripped;
+  }
+}
@@ -0,0 +1,68 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import io.github.mridang.gradle.missinglink.artifacts.ResolvedEdge;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Only checks the dependency edges whose requested version was replaced during resolution.
+ *
+ * <p>Only the artifacts that requested a replaced version are checked, and only their references
+ * into the artifacts selected in its place, each reference being attributed to the first artifact
+ * on the classpath declaring its owner. References to classes that no artifact declares are kept,
+ * so missing classes are still reported.
+ *
+ * <p>Conflicts caused by classes moving between artifacts whose versions were not replaced, or by
+ * a JDK that differs from the one the artifacts were built against, are not reported in this mode.
+ */
+public final class ResolvedEdgeConflictChecker implements MissingLinkChecker {
+
+  private final MissingLinkChecker delegate;
+  private final Map<String, Set<String>> selectedByConsumer = new HashMap<>();
+
+  /**
+   * Constructs a checker limited to replaced dependency edges.
+   *
+   * @param delegate The checker that resolves the references along the replaced edges.
+   * @param edges The dependency edges whose requested version was replaced.
+   */
+  public ResolvedEdgeConflictChecker(MissingLinkChecker delegate, Collection<ResolvedEdge> edges) {
+    this.delegate = delegate;
+    for (ResolvedEdge edge : edges) {
+      selectedByConsumer
+          .computeIfAbsent(edge.consumer(), consumer -> new HashSet<>())
+          .add(edge.selected());
+    }
+  }
+
+  @Override
+  public Prepared prepare(Artifact project, List<Artifact> allArtifacts) {
+    Prepared prepared = delegate.prepare(project, allArtifacts);
+    Map<ClassTypeDescriptor, String> owners = ReferenceFilter.ownersOf(allArtifacts);
+    return artifactsToCheck -> {
+      List<Artifact> consumers = new ArrayList<>();
+      for (Artifact artifact : artifactsToCheck) {
+        Set<String> selected = selectedByConsumer.get(artifact.name().name());
+        if (selected != null) {
+          consumers.addAll(
+              ReferenceFilter.retain(
+                  List.of(artifact),
+                  call -> isSelected(selected, owners.get(call.owner())),
+                  access -> isSelected(selected, owners.get(access.owner()))));
+        }
+      }
+      return prepared.check(consumers);
+    };
+  }
+
+  private static boolean isSelected(Set<String> selected, String owner) {
+    return owner == null || selected.contains(owner);
+  }
+}
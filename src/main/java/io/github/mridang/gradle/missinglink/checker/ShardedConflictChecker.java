@@ -0,0 +1,240 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import com.spotify.missinglink.Conflict;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactBuilder;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.FieldDependency;
+import io.github.mridang.gradle.missinglink.artifacts.LazyArtifact;
+import io.github.mridang.gradle.missinglink.artifacts.LazyClassMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Checks shards of the classpath concurrently on a {@link ForkJoinPool}.
+ *
+ * <p>The classes to check are split, in classpath iteration order, into contiguous shards of
+ * roughly equal numbers of classes, and each shard is checked by the same prepared check, which
+ * shares the loaded classpath read-only. The conflicts of the shards are concatenated in shard
+ * order. An engine reports the method calls of an artifact before its field accesses, so where an
+ * artifact is split across shards, the method call conflicts of all its parts are moved before
+ * their field access conflicts. The result is thus the same as checking the whole classpath on
+ * one thread.
+ *
+ * <p>With a batch size, the classes are instead split into batches of at most that many classes.
+ * The shards and batches of lazy artifacts are lazy views, so a class is only parsed when its shard
+ * is checked and is not kept by the shard afterwards.
+ */
+public final class ShardedConflictChecker implements MissingLinkChecker {
+
+  private static final Logger LOGGER = Logging.getLogger(ShardedConflictChecker.class);
+  private static final ForkJoinPool.ForkJoinWorkerThreadFactory CHECKER_THREADS =
+      pool -> {
+        ForkJoinWorkerThread thread =
+            ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("missinglink-checker-" + thread.getPoolIndex());
+        return thread;
+      };
+
+  private final MissingLinkChecker delegate;
+  private final int parallelism;
+  private final int batchSize;
+
+  /**
+   * Constructs a sharded checker.
+   *
+   * @param delegate The engine that checks each shard.
+   * @param parallelism The maximum number of shards to check at the same time.
+   */
+  public ShardedConflictChecker(MissingLinkChecker delegate, int parallelism) {
+    this(delegate, parallelism, 0);
+  }
+
+  /**
+   * Constructs a sharded checker that checks the classpath in batches.
+   *
+   * @param delegate The engine that checks each batch.
+   * @param parallelism The maximum number of batches to check at the same time.
+   * @param batchSize The maximum number of classes per batch, or {@code 0} to split the classpath
+   *     into one shard per thread instead.
+   */
+  public ShardedConflictChecker(MissingLinkChecker delegate, int parallelism, int batchSize) {
+    this.delegate = delegate;
+    this.parallelism = Math.max(parallelism, 1);
+    this.batchSize = Math.max(batchSize, 0);
+  }
+
+  @Override
+  public Prepared prepare(Artifact project, List<Artifact> allArtifacts) {
+    Prepared prepared = delegate.prepare(project, allArtifacts);
+    if (parallelism == 1 && batchSize == 0) {
+      return prepared;
+    }
+    return artifactsToCheck -> {
+      List<List<Artifact>> shards =
+          batchSize > 0 ? batch(artifactsToCheck, batchSize) : shard(artifactsToCheck, parallelism);
+      if (shards.size() <= 1) {
+        return prepared.check(artifactsToCheck);
+      }
+      LOGGER.debug("Checking {} shards using {} threads", shards.size(), parallelism);
+      ForkJoinPool pool = new ForkJoinPool(parallelism, CHECKER_THREADS, null, false);
+      try {
+        return pool.invoke(new ShardTask(prepared, shards, 0, shards.size()));
+      } finally {
+        pool.shutdownNow();
+      }
+    };
+  }
+
+  /**
+   * Splits the classes of the given artifacts into contiguous shards of roughly equal numbers of
+   * classes, without parsing any class.
+   *
+   * @param artifacts The artifacts to split.
+   * @param shardCount The number of shards to aim for.
+   * @return The shards, each a list of artifacts holding part of the classes, in the original
+   *     order of the artifacts and their classes.
+   */
+  static List<List<Artifact>> shard(List<Artifact> artifacts, int shardCount) {
+    long classCount = 0;
+    for (Artifact artifact : artifacts) {
+      classCount += artifact.classes().size();
+    }
+    return batch(artifacts, (int) Math.max(1, (classCount + shardCount - 1) / shardCount));
+  }
+
+  /**
+   * Splits the classes of the given artifacts into contiguous batches of at most the given number
+   * of classes, without parsing any class.
+   *
+   * @param artifacts The artifacts to split.
+   * @param batchSize The maximum number of classes per batch.
+   * @return The batches, each a list of artifacts holding part of the classes, in the original
+   *     order of the artifacts and their classes.
+   */
+  static List<List<Artifact>> batch(List<Artifact> artifacts, int batchSize) {
+    List<List<Artifact>> batches = new ArrayList<>();
+    List<Artifact> batch = new ArrayList<>();
+    int size = 0;
+    for (Artifact artifact : artifacts) {
+      Set<ClassTypeDescriptor> classNames = new HashSet<>();
+      for (ClassTypeDescriptor className : artifact.classes().keySet()) {
+        classNames.add(className);
+        if (++size == batchSize) {
+          batch.add(part(artifact, classNames));
+          batches.add(batch);
+          classNames = new HashSet<>();
+          batch = new ArrayList<>();
+          size = 0;
+        }
+      }
+      if (!classNames.isEmpty()) {
+        batch.add(part(artifact, classNames));
+      }
+    }
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+    return batches;
+  }
+
+  private static Artifact part(Artifact artifact, Set<ClassTypeDescriptor> classNames) {
+    if (artifact.classes() instanceof LazyClassMap lazy) {
+      return new LazyArtifact(artifact.name(), lazy.restrict(classNames::contains));
+    }
+    Map<ClassTypeDescriptor, DeclaredClass> classes = new LinkedHashMap<>();
+    for (Map.Entry<ClassTypeDescriptor, DeclaredClass> clazz : artifact.classes().entrySet()) {
+      if (classNames.contains(clazz.getKey())) {
+        classes.put(clazz.getKey(), clazz.getValue());
+      }
+    }
+    return new ArtifactBuilder().name(artifact.name()).classes(classes).build();
+  }
+
+  /** Checks a range of shards, forking the first half and concatenating the results in order. */
+  private static final class ShardTask extends RecursiveTask<List<Conflict>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Prepared prepared;
+    private final transient List<List<Artifact>> shards;
+    private final int from;
+    private final int to;
+
+    ShardTask(Prepared prepared, List<List<Artifact>> shards, int from, int to) {
+      this.prepared = prepared;
+      this.shards = shards;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected List<Conflict> compute() {
+      if (to - from == 1) {
+        return prepared.check(shards.get(from));
+      }
+      int middle = (from + to) >>> 1;
+      ShardTask first = new ShardTask(prepared, shards, from, middle);
+      first.fork();
+      List<Conflict> second = new ShardTask(prepared, shards, middle, to).compute();
+      List<Artifact> before = shards.get(middle - 1);
+      ArtifactName last = before.get(before.size() - 1).name();
+      ArtifactName split = last.equals(shards.get(middle).get(0).name()) ? last : null;
+      return merge(first.join(), second, split);
+    }
+  }
+
+  /**
+   * Concatenates the conflicts of two consecutive ranges of shards. If an artifact is split between
+   * them, the conflicts of its method calls in both ranges are reported before those of its field
+   * accesses, as when the artifact is checked as a whole.
+   *
+   * @param first The conflicts of the first range.
+   * @param second The conflicts of the second range.
+   * @param split The name of the artifact split between the ranges, or {@code null} if none is.
+   * @return The merged conflicts.
+   */
+  private static List<Conflict> merge(
+      List<Conflict> first, List<Conflict> second, @Nullable ArtifactName split) {
+    List<Conflict> conflicts = new ArrayList<>(first.size() + second.size());
+    if (split == null) {
+      conflicts.addAll(first);
+      conflicts.addAll(second);
+      return conflicts;
+    }
+    int tail = first.size();
+    while (tail > 0 && first.get(tail - 1).usedBy().equals(split)) {
+      tail--;
+    }
+    int head = 0;
+    while (head < second.size() && second.get(head).usedBy().equals(split)) {
+      head++;
+    }
+    conflicts.addAll(first.subList(0, tail));
+    List<Conflict> splitConflicts = new ArrayList<>(first.subList(tail, first.size()));
+    splitConflicts.addAll(second.subList(0, head));
+    List<Conflict> fieldAccesses = new ArrayList<>();
+    for (Conflict conflict : splitConflicts) {
+      if (conflict.dependency() instanceof FieldDependency) {
+        fieldAccesses.add(conflict);
+      } else {
+        conflicts.add(conflict);
+      }
+    }
+    conflicts.addAll(fieldAccesses);
+    conflicts.addAll(second.subList(head, second.size()));
+    return conflicts;
+  }
+}
@@ -0,0 +1,21 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import com.spotify.missinglink.ConflictChecker;
+import com.spotify.missinglink.datamodel.Artifact;
+import java.util.List;
+
+/**
+ * Checks the classpath with the Spotify {@link ConflictChecker}.
+ *
+ * <p>The Spotify checker cannot be prepared ahead of time, so every check rebuilds its view of the
+ * classpath. It should therefore not be sharded, as each shard would hold a copy of that view.
+ */
+public final class SpotifyConflictChecker implements MissingLinkChecker {
+
+  private final ConflictChecker checker = new ConflictChecker();
+
+  @Override
+  public Prepared prepare(Artifact project, List<Artifact> allArtifacts) {
+    return artifactsToCheck -> checker.check(project, artifactsToCheck, allArtifacts);
+  }
+}
@@ -0,0 +1,67 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash-conses values into dense integer ids.
+ *
+ * <p>Equal values share one id, and ids are assigned from zero in the order the values are first
+ * interned, so they can index arrays directly. A table may be read concurrently once no more values
+ * are interned.
+ *
+ * @param <T> The type of the interned values.
+ */
+final class SymbolTable<T> {
+
+  private final Map<T, Integer> ids = new HashMap<>();
+  private final List<T> values = new ArrayList<>();
+
+  /**
+   * Returns the id of a value, assigning the next id if the value was not interned before.
+   *
+   * @param value The value.
+   * @return The value's id.
+   */
+  int intern(T value) {
+    Integer id = ids.get(value);
+    if (id == null) {
+      id = values.size();
+      ids.put(value, id);
+      values.add(value);
+    }
+    return id;
+  }
+
+  /**
+   * Returns the id of a value without interning it.
+   *
+   * @param value The value.
+   * @return The value's id, or {@code -1} if the value was never interned.
+   */
+  int find(T value) {
+    Integer id = ids.get(value);
+    return id != null ? id : -1;
+  }
+
+  /**
+   * Returns the value with the given id.
+   *
+   * @param id An id returned by {@link #intern(Object)}.
+   * @return The interned value.
+   */
+  T value(int id) {
+    return values.get(id);
+  }
+
+  /**
+   * Returns the number of interned values, which is one more than the largest id.
+   *
+   * @return The number of interned values.
+   */
+  int size() {
+    return values.size();
+  }
+}
@@ -1,15 +1,51 @@
 package io.github.mridang.gradle.missinglink;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.util.List;
+import org.gradle.api.artifacts.ModuleIdentifier;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.specs.Spec;
+import org.gradle.testfixtures.ProjectBuilder;
 import org.junit.jupiter.api.Test;
 
 /** Unit tests for the {@link MissingLinkExclusions} predicate. */
 class MissingLinkExclusionTest {
 
+  private static ModuleComponentIdentifier module(String group, String name) {
+    return new ModuleComponentIdentifier() {
+      @Override
+      public String getGroup() {
+        return group;
+      }
+
+      @Override
+      public String getModule() {
+        return name;
+      }
+
+      @Override
+      public String getVersion() {
+        return "1.0.0";
+      }
+
+      @Override
+      public ModuleIdentifier getModuleIdentifier() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public String getDisplayName() {
+        return group + ":" + name + ":1.0.0";
+      }
+    };
+  }
+
   /** Tests that an excluded artifact is correctly identified. */
   @Test
   void testExcludedArtifact() {
@@ -31,4 +67,89 @@ class MissingLinkExclusionTest {
 
     assertFalse(exclusions.test(artifact), "Artifact should NOT be excluded");
   }
+
+  /** Tests that group and name globs match every module they cover, and only those. */
+  @Test
+  void testWildcardPatterns() {
+    MissingLinkExclusions exclusions =
+        new MissingLinkExclusions(
+            List.of("com.fasterxml.*:*", "org.example:excluded-*", "org.*:*-test"));
+
+    assertTrue(exclusions.excludes("com.fasterxml.jackson.core", "jackson-databind", "2.18.2"));
+    assertTrue(exclusions.excludes("org.example", "excluded-lib", "1.0.0"));
+    assertTrue(exclusions.excludes("org.acme", "acme-test", "1.0.0"));
+    assertFalse(exclusions.excludes("com.fasterxml", "classmate", "1.7.0"));
+    assertFalse(exclusions.excludes("org.example", "allowed-lib", "1.0.0"));
+    assertFalse(exclusions.excludes("org.acme", "acme-test-utils", "1.0.0"));
+  }
+
+  /** Tests that exact, prefix and range versions only exclude the versions they cover. */
+  @Test
+  void testVersionPatterns() {
+    MissingLinkExclusions exclusions =
+        new MissingLinkExclusions(
+            List.of(
+                "org.example:exact:1.0.0",
+                "org.example:prefix:2.+",
+                "org.example:range:[1.9,1.10)",
+                "org.example:open:(,2.0]"));
+
+    assertTrue(exclusions.excludes("org.example", "exact", "1.0.0"));
+    assertFalse(exclusions.excludes("org.example", "exact", "1.0.1"));
+    assertTrue(exclusions.excludes("org.example", "prefix", "2.5"));
+    assertFalse(exclusions.excludes("org.example", "prefix", "3.0"));
+    assertTrue(exclusions.excludes("org.example", "range", "1.9.3"));
+    assertFalse(exclusions.excludes("org.example", "range", "1.10"));
+    assertTrue(exclusions.excludes("org.example", "open", "2.0"));
+    assertFalse(exclusions.excludes("org.example", "open", "2.0.1"));
+  }
+
+  /** Tests that a regex is matched against the whole coordinates of the module. */
+  @Test
+  void testRegexPattern() {
+    MissingLinkExclusions exclusions =
+        new MissingLinkExclusions(List.of("/org\\.example:.*:1\\..*-SNAPSHOT/"));
+
+    assertTrue(exclusions.excludes("org.example", "lib", "1.2-SNAPSHOT"));
+    assertFalse(exclusions.excludes("org.example", "lib", "1.2"));
+  }
+
+  /** Tests that a pattern without a name matches nothing, rather than a whole group. */
+  @Test
+  void testPatternWithoutName() {
+    MissingLinkExclusions exclusions = new MissingLinkExclusions(List.of("com.fasterxml.*"));
+
+    assertFalse(exclusions.excludes("com.fasterxml.jackson.core", "jackson-core", "2.18.2"));
+  }
+
+  /** Tests that versions are compared numerically, with qualifiers before releases. */
+  @Test
+  void testCompareVersions() {
+    assertTrue(MissingLinkExclusions.compareVersions("1.10", "1.9") > 0);
+    assertTrue(MissingLinkExclusions.compareVersions("2.0-RC1", "2.0.1") < 0);
+    assertEquals(0, MissingLinkExclusions.compareVersions("1.0", "1.0.0"));
+  }
+
+  /** Tests that the component filter drops excluded modules and keeps every other component. */
+  @Test
+  void testComponentFilter() {
+    Spec<ComponentIdentifier> included =
+        new MissingLinkExclusions(List.of("org.example:excluded-lib")).componentFilter();
+
+    assertFalse(included.isSatisfiedBy(module("org.example", "excluded-lib")));
+    assertTrue(included.isSatisfiedBy(module("org.example", "allowed-lib")));
+    assertTrue(included.isSatisfiedBy(() -> "project :excluded-lib"));
+  }
+
+  /** Tests that the patterns of a lazy component filter are only read once it filters. */
+  @Test
+  void testLazyComponentFilter() {
+    ListProperty<String> patterns =
+        ProjectBuilder.builder().build().getObjects().listProperty(String.class);
+    Spec<ComponentIdentifier> included = MissingLinkExclusions.componentFilter(patterns);
+    patterns.add("org.example:excluded-lib");
+
+    assertFalse(included.isSatisfiedBy(module("org.example", "excluded-lib")));
+    assertTrue(included.isSatisfiedBy(module("org.example", "allowed-lib")));
+  }
 }
@@ -1,12 +1,15 @@
 package io.github.mridang.gradle.missinglink;
 
+import static org.gradle.testkit.runner.TaskOutcome.FROM_CACHE;
 import static org.gradle.testkit.runner.TaskOutcome.SUCCESS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Objects;
 import java.util.Optional;
 import org.gradle.testkit.runner.BuildResult;
 import org.gradle.testkit.runner.GradleRunner;
@@ -327,4 +330,235 @@ class MissingLinkPluginFunctionalTest {
     assertFalse(Files.exists(testProjectDir.resolve("build/reports/missinglink/missinglink.xml")));
     assertFalse(Files.exists(testProjectDir.resolve("build/reports/missinglink/missinglink.html")));
   }
+
+  @Test
+  void testMissingLinkTaskRunsInForkedWorker(@TempDir Path testProjectDir, TestInfo testInfo)
+      throws IOException {
+    boolean result =
+        runGradleAndCheckTaskSuccess(
+            testProjectDir,
+            testInfo,
+            """
+                plugins {
+                    id 'java'
+                    id 'io.github.mridang.gradle.missinglink'
+                }
+
+                repositories {
+                    mavenCentral()
+                }
+
+                dependencies {
+                    implementation(group: 'com.fasterxml.jackson.core', name: 'jackson-databind', version: '2.18.2') {
+                        transitive = false
+                    }
+                }
+
+                missingLink {
+                    failOnConflicts = true
+                    isolation = 'process'
+                    maxHeapSize = '512m'
+                    jvmArgs = ['-XX:+UseSerialGC']
+                }
+            """,
+            """
+            package com.example;
+
+            public class TestClass {
+
+                public void hello() {
+                    System.out.println("Hello, world!");
+                }
+            }
+            """);
+
+    assertTrue(result);
+  }
+
+  @Test
+  void testMissingLinkTaskReusesConfigurationCache(@TempDir Path testProjectDir, TestInfo testInfo)
+      throws IOException {
+    String projectName = testInfo.getDisplayName().replace("()", "").replace(" ", "-");
+    Files.writeString(
+        testProjectDir.resolve("settings.gradle"), "rootProject.name = '" + projectName + "'");
+    Files.writeString(
+        testProjectDir.resolve("build.gradle"),
+        """
+            plugins {
+                id 'java'
+                id 'io.github.mridang.gradle.missinglink'
+            }
+
+            repositories {
+                mavenCentral()
+            }
+
+            dependencies {
+                implementation(group: 'com.fasterxml.jackson.core', name: 'jackson-databind', version: '2.18.2') {
+                    transitive = false
+                }
+            }
+
+            missingLink {
+                failOnConflicts = true
+                excludeDependencies = ['org.example:excluded-lib']
+            }
+        """);
+    Path srcDir = Files.createDirectories(testProjectDir.resolve("src/main/java/com/example"));
+    Files.writeString(
+        srcDir.resolve("TestClass.java"),
+        """
+        package com.example;
+
+        public class TestClass {
+
+            public void hello() {
+                System.out.println("Hello, world!");
+            }
+        }
+        """);
+
+    GradleRunner runner =
+        GradleRunner.create()
+            .withProjectDir(testProjectDir.toFile())
+            .withArguments("missingLinkCheck", "--configuration-cache", "--rerun-tasks")
+            .withPluginClasspath()
+            .forwardOutput();
+
+    BuildResult first = runner.build();
+    assertTrue(first.getOutput().contains("Configuration cache entry stored."));
+    assertEquals(SUCCESS, Objects.requireNonNull(first.task(":missingLinkCheck")).getOutcome());
+
+    BuildResult second = runner.build();
+    assertTrue(second.getOutput().contains("Reusing configuration cache."));
+    assertEquals(SUCCESS, Objects.requireNonNull(second.task(":missingLinkCheck")).getOutcome());
+  }
+
+  @Test
+  void testMissingLinkTaskIsRestoredFromBuildCache(@TempDir Path testProjectDir, TestInfo testInfo)
+      throws IOException {
+    String projectName = testInfo.getDisplayName().replace("()", "").replace(" ", "-");
+    Files.writeString(
+        testProjectDir.resolve("settings.gradle"),
+        """
+            rootProject.name = '%s'
+
+            buildCache {
+                local {
+                    directory = new File(rootDir, 'build-cache')
+                }
+            }
+        """
+            .formatted(projectName));
+    Files.writeString(
+        testProjectDir.resolve("build.gradle"),
+        """
+            plugins {
+                id 'java'
+                id 'io.github.mridang.gradle.missinglink'
+            }
+
+            repositories {
+                mavenCentral()
+            }
+
+            dependencies {
+                implementation(group: 'com.fasterxml.jackson.core', name: 'jackson-databind', version: '2.18.2') {
+                    transitive = false
+                }
+            }
+        """);
+    Path srcDir = Files.createDirectories(testProjectDir.resolve("src/main/java/com/example"));
+    Files.writeString(
+        srcDir.resolve("TestClass.java"),
+        """
+        package com.example;
+
+        public class TestClass {
+
+            public void hello() {
+                System.out.println("Hello, world!");
+            }
+        }
+        """);
+
+    GradleRunner runner =
+        GradleRunner.create()
+            .withProjectDir(testProjectDir.toFile())
+            .withPluginClasspath()
+            .forwardOutput();
+
+    BuildResult first = runner.withArguments("missingLinkCheck", "--build-cache").build();
+    assertEquals(SUCCESS, Objects.requireNonNull(first.task(":missingLinkCheck")).getOutcome());
+    assertTrue(Files.exists(testProjectDir.resolve("build/missinglink/result.txt")));
+
+    runner.withArguments("clean").build();
+
+    BuildResult second = runner.withArguments("missingLinkCheck", "--build-cache").build();
+    assertEquals(FROM_CACHE, Objects.requireNonNull(second.task(":missingLinkCheck")).getOutcome());
+    assertTrue(Files.exists(testProjectDir.resolve("build/missinglink/result.txt")));
+  }
+
+  @Test
+  void testMissingLinkTaskRechecksChangedClassesIncrementally(
+      @TempDir Path testProjectDir, TestInfo testInfo) throws IOException {
+    String projectName = testInfo.getDisplayName().replace("()", "").replace(" ", "-");
+    Files.writeString(
+        testProjectDir.resolve("settings.gradle"), "rootProject.name = '" + projectName + "'");
+    Files.writeString(
+        testProjectDir.resolve("build.gradle"),
+        """
+            plugins {
+                id 'java'
+                id 'io.github.mridang.gradle.missinglink'
+            }
+
+            repositories {
+                mavenCentral()
+            }
+
+            dependencies {
+                implementation(group: 'com.fasterxml.jackson.core', name: 'jackson-databind', version: '2.18.2') {
+                    transitive = false
+                }
+            }
+        """);
+    Path srcDir = Files.createDirectories(testProjectDir.resolve("src/main/java/com/example"));
+    Files.writeString(
+        srcDir.resolve("Unchanged.java"),
+        """
+        package com.example;
+
+        public class Unchanged {
+        }
+        """);
+    String testClass =
+        """
+        package com.example;
+
+        public class TestClass {
+
+            public void hello() {
+                System.out.println("%s");
+            }
+        }
+        """;
+    Files.writeString(srcDir.resolve("TestClass.java"), testClass.formatted("Hello, world!"));
+
+    GradleRunner runner =
+        GradleRunner.create()
+            .withProjectDir(testProjectDir.toFile())
+            .withArguments("missingLinkCheck", "--info")
+            .withPluginClasspath()
+            .forwardOutput();
+
+    BuildResult first = runner.build();
+    assertFalse(first.getOutput().contains("Incrementally rechecking"));
+
+    Files.writeString(srcDir.resolve("TestClass.java"), testClass.formatted("Hello, again!"));
+
+    BuildResult second = runner.build();
+    assertTrue(second.getOutput().contains("Incrementally rechecking 1 changed and 0 removed"));
+    assertEquals(SUCCESS, Objects.requireNonNull(second.task(":missingLinkCheck")).getOutcome());
+  }
 }
@@ -1,6 +1,7 @@
 package io.github.mridang.gradle.missinglink;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -112,4 +113,92 @@ class MissingLinkPluginTest {
         extension.getReports().getSarif().getRequired().get(),
         "SARIF report should be disabled by default");
   }
+
+  /** Tests that the check runs without isolation by default. */
+  @ParameterizedTest
+  @MethodSource("projectProvider")
+  void testDefaultIsolation(Project project) {
+    MissingLinkExtension extension =
+        (MissingLinkExtension) project.getExtensions().findByName(MissingLinkPlugin.EXTENSION_NAME);
+
+    assertNotNull(extension);
+    assertEquals(MissingLinkTask.ISOLATION_NONE, extension.getIsolation().get());
+  }
+
+  /** Tests that whole classes reachable from every project class are checked by default. */
+  @ParameterizedTest
+  @MethodSource("projectProvider")
+  void testDefaultReachability(Project project) {
+    MissingLinkExtension extension =
+        (MissingLinkExtension) project.getExtensions().findByName(MissingLinkPlugin.EXTENSION_NAME);
+
+    assertNotNull(extension);
+    assertEquals(MissingLinkTask.REACHABILITY_CLASS, extension.getReachability().get());
+    assertTrue(extension.getEntryPoints().get().isEmpty());
+  }
+
+  /** Tests that the Spotify checker resolves the classpath by default. */
+  @ParameterizedTest
+  @MethodSource("projectProvider")
+  void testDefaultEngine(Project project) {
+    MissingLinkExtension extension =
+        (MissingLinkExtension) project.getExtensions().findByName(MissingLinkPlugin.EXTENSION_NAME);
+
+    assertNotNull(extension);
+    assertEquals(MissingLinkTask.ENGINE_SPOTIFY, extension.getEngine().get());
+  }
+
+  /** Tests that checks do not stream by default. */
+  @ParameterizedTest
+  @MethodSource("projectProvider")
+  void testDefaultCheckBatchSize(Project project) {
+    MissingLinkExtension extension =
+        (MissingLinkExtension) project.getExtensions().findByName(MissingLinkPlugin.EXTENSION_NAME);
+
+    assertNotNull(extension);
+    assertEquals(0, extension.getCheckBatchSize().get().intValue());
+  }
+
+  /** Tests that every artifact is checked by default, whether or not its version changed. */
+  @ParameterizedTest
+  @MethodSource("projectProvider")
+  void testDefaultChangedVersionsOnly(Project project) {
+    MissingLinkExtension extension =
+        (MissingLinkExtension) project.getExtensions().findByName(MissingLinkPlugin.EXTENSION_NAME);
+
+    assertNotNull(extension);
+    assertFalse(extension.getChangedVersionsOnly().get());
+  }
+
+  /** Tests that every artifact is checked by default, whether or not its dependencies changed. */
+  @ParameterizedTest
+  @MethodSource("projectProvider")
+  void testDefaultConflictResolutionOnly(Project project) {
+    MissingLinkExtension extension =
+        (MissingLinkExtension) project.getExtensions().findByName(MissingLinkPlugin.EXTENSION_NAME);
+
+    assertNotNull(extension);
+    assertFalse(extension.getConflictResolutionOnly().get());
+  }
+
+  /** Tests that a changed classpath is checked in full by default. */
+  @ParameterizedTest
+  @MethodSource("projectProvider")
+  void testDefaultIncrementalClasspath(Project project) {
+    MissingLinkExtension extension =
+        (MissingLinkExtension) project.getExtensions().findByName(MissingLinkPlugin.EXTENSION_NAME);
+
+    assertNotNull(extension);
+    assertFalse(extension.getIncrementalClasspath().get());
+  }
+
+  @ParameterizedTest
+  @MethodSource("projectProvider")
+  void testDefaultIncludeCategories(Project project) {
+    MissingLinkExtension extension =
+        (MissingLinkExtension) project.getExtensions().findByName(MissingLinkPlugin.EXTENSION_NAME);
+
+    assertNotNull(extension);
+    assertTrue(extension.getIncludeCategories().get().isEmpty());
+  }
 }
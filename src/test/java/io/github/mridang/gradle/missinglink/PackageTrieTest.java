@@ -0,0 +1,62 @@
+package io.github.mridang.gradle.missinglink;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the {@link PackageTrie} of package patterns. */
+class PackageTrieTest {
+
+  private static PackageTrie trie(String... patterns) {
+    PackageTrie trie = new PackageTrie();
+    for (String pattern : patterns) {
+      trie.add(pattern);
+    }
+    return trie;
+  }
+
+  /** Tests that a package only matches its own classes, not those of its subpackages. */
+  @Test
+  void testExactPackage() {
+    PackageTrie trie = trie("com.example");
+
+    assertTrue(trie.matchesPackageOf("com.example.Main"));
+    assertTrue(trie.matchesPackageOf("com.example.Main$Inner"));
+    assertFalse(trie.matchesPackageOf("com.example.api.Client"));
+    assertFalse(trie.matchesPackageOf("com.examples.Main"));
+    assertFalse(trie.matchesPackageOf("com.Main"));
+  }
+
+  /** Tests that a trailing wildcard matches the package and all of its subpackages. */
+  @Test
+  void testSubpackages() {
+    PackageTrie trie = trie("com.example.*");
+
+    assertTrue(trie.matchesPackageOf("com.example.Main"));
+    assertTrue(trie.matchesPackageOf("com.example.api.v1.Client"));
+    assertFalse(trie.matchesPackageOf("com.examples.Main"));
+    assertFalse(trie.matchesPackageOf("com.Main"));
+  }
+
+  /** Tests that a wildcard segment matches any one package name. */
+  @Test
+  void testWildcardSegment() {
+    PackageTrie trie = trie("com.*.internal", "org.*.impl.*");
+
+    assertTrue(trie.matchesPackageOf("com.example.internal.Util"));
+    assertFalse(trie.matchesPackageOf("com.internal.Util"));
+    assertFalse(trie.matchesPackageOf("com.example.api.internal.Util"));
+    assertTrue(trie.matchesPackageOf("org.acme.impl.Service"));
+    assertTrue(trie.matchesPackageOf("org.acme.impl.cache.Service"));
+    assertFalse(trie.matchesPackageOf("org.acme.Service"));
+  }
+
+  /** Tests that an empty pattern matches the default package, and no pattern matches nothing. */
+  @Test
+  void testDefaultPackage() {
+    assertTrue(trie("").matchesPackageOf("Main"));
+    assertFalse(trie("").matchesPackageOf("com.example.Main"));
+    assertFalse(trie().matchesPackageOf("Main"));
+  }
+}
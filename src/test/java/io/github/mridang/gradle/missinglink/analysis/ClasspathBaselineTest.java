@@ -0,0 +1,156 @@
+package io.github.mridang.gradle.missinglink.analysis;
+
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.OBJECT;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.artifact;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.declare;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.method;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.type;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.spotify.missinglink.Conflict;
+import com.spotify.missinglink.ConflictBuilder;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.MethodDependencyBuilder;
+import io.github.mridang.gradle.missinglink.MissingLinkArtifact;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for the persisted {@link ClasspathBaseline}. */
+class ClasspathBaselineTest {
+
+  private static final ClassTypeDescriptor STABLE = type("com/stable/Stable");
+  private static final ClassTypeDescriptor SUB = type("com/stable/Sub");
+  private static final ClassTypeDescriptor MOVED = type("com/moved/Moved");
+
+  private static Conflict conflict(ClassTypeDescriptor fromClass, ClassTypeDescriptor targetClass) {
+    return new ConflictBuilder()
+        .category(Conflict.ConflictCategory.METHOD_SIGNATURE_NOT_FOUND)
+        .dependency(
+            new MethodDependencyBuilder()
+                .fromClass(fromClass)
+                .fromMethod(method("caller"))
+                .fromLineNumber(1)
+                .targetClass(targetClass)
+                .targetMethod(method("callee"))
+                .build())
+        .reason("Method not found")
+        .usedBy(new ArtifactName("a:a:1"))
+        .existsIn(new ArtifactName("b:b:2"))
+        .build();
+  }
+
+  /** Tests that a baseline read back from disk equals the baseline that was written. */
+  @Test
+  void testRoundTrip(@TempDir File tempDir) throws Exception {
+    ClasspathBaseline baseline =
+        new ClasspathBaseline(
+            List.of(
+                new ClasspathBaseline.Fingerprint("a:a:1", "/libs/a.jar", 42, 7, "abc"),
+                new ClasspathBaseline.Fingerprint("java.base", "", 0, 0, "21.0.1")),
+            Map.of("com.stable.Stable", "a:a:1"));
+
+    baseline.write(tempDir);
+
+    assertEquals(baseline, ClasspathBaseline.read(tempDir));
+  }
+
+  /** Tests that a missing baseline is reported as absent. */
+  @Test
+  void testMissingBaseline(@TempDir File tempDir) {
+    assertNull(ClasspathBaseline.read(tempDir));
+  }
+
+  /** Tests that unchanged files reuse their previous hash and changed files are hashed again. */
+  @Test
+  void testFingerprintReusesUnchangedHashes(@TempDir File tempDir) throws Exception {
+    File jar = new File(tempDir, "a.jar");
+    Files.writeString(jar.toPath(), "first", StandardCharsets.UTF_8);
+    List<MissingLinkArtifact> classpath = List.of(new MissingLinkArtifact("a", "a", "1", jar));
+    ClasspathBaseline.Fingerprint hashed =
+        ClasspathBaseline.fingerprint(classpath, List.of(), "21", null).get(0);
+    ClasspathBaseline previous =
+        new ClasspathBaseline(
+            List.of(
+                new ClasspathBaseline.Fingerprint(
+                    hashed.name(),
+                    hashed.path(),
+                    hashed.length(),
+                    hashed.lastModified(),
+                    "cached")),
+            Map.of());
+
+    assertEquals(
+        "cached",
+        ClasspathBaseline.fingerprint(classpath, List.of(), "21", previous).get(0).hash());
+
+    Files.writeString(jar.toPath(), "second version", StandardCharsets.UTF_8);
+    String rehashed =
+        ClasspathBaseline.fingerprint(classpath, List.of(), "21", previous).get(0).hash();
+    assertNotEquals("cached", rehashed);
+    assertNotEquals(hashed.hash(), rehashed);
+  }
+
+  /** Tests that classes of changed artifacts, and classes extending them, are unstable. */
+  @Test
+  void testStableClasses() {
+    Artifact jdk = artifact("java.base", declare(OBJECT, Set.of()));
+    Artifact stable =
+        artifact("a:a:1", declare(STABLE, Set.of(OBJECT)), declare(SUB, Set.of(MOVED)));
+    Artifact moved = artifact("b:b:2", declare(MOVED, Set.of(OBJECT)));
+    List<Artifact> allArtifacts = List.of(stable, moved, jdk);
+    ClasspathBaseline baseline =
+        new ClasspathBaseline(
+            List.of(
+                new ClasspathBaseline.Fingerprint("a:a:1", "/a.jar", 1, 1, "a"),
+                new ClasspathBaseline.Fingerprint("b:b:1", "/b-1.jar", 1, 1, "b1"),
+                new ClasspathBaseline.Fingerprint("java.base", "", 0, 0, "21")),
+            Map.of(
+                "java.lang.Object",
+                "java.base",
+                "com.stable.Stable",
+                "a:a:1",
+                "com.stable.Sub",
+                "a:a:1",
+                "com.moved.Moved",
+                "b:b:1"));
+
+    Set<ClassTypeDescriptor> stableClasses =
+        baseline.stableClasses(
+            List.of(
+                new ClasspathBaseline.Fingerprint("a:a:1", "/a.jar", 1, 1, "a"),
+                new ClasspathBaseline.Fingerprint("b:b:2", "/b-2.jar", 1, 1, "b2"),
+                new ClasspathBaseline.Fingerprint("java.base", "", 0, 0, "21")),
+            allArtifacts,
+            Reachability.classesOf(allArtifacts),
+            Set.of(OBJECT, STABLE, SUB, MOVED));
+
+    assertEquals(Set.of(OBJECT, STABLE), stableClasses);
+  }
+
+  /** Tests that only conflicts between stable classes are reused. */
+  @Test
+  void testMergeConflicts() {
+    Conflict reused = conflict(STABLE, OBJECT);
+    Conflict intoUnstable = conflict(STABLE, MOVED);
+    Conflict fromUnstable = conflict(SUB, OBJECT);
+    Conflict rechecked = conflict(SUB, MOVED);
+
+    List<Conflict> merged =
+        ClasspathBaseline.mergeConflicts(
+            List.of(rechecked),
+            List.of(reused, intoUnstable, fromUnstable),
+            Set.of(OBJECT, STABLE));
+
+    assertEquals(List.of(rechecked, reused), merged);
+  }
+}
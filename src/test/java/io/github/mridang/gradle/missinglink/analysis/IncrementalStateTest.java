@@ -0,0 +1,95 @@
+package io.github.mridang.gradle.missinglink.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.spotify.missinglink.ArtifactLoader;
+import com.spotify.missinglink.Conflict;
+import com.spotify.missinglink.ConflictBuilder;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.MethodDependencyBuilder;
+import com.spotify.missinglink.datamodel.MethodDescriptorBuilder;
+import com.spotify.missinglink.datamodel.TypeDescriptors;
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for the persisted {@link IncrementalState}. */
+class IncrementalStateTest {
+
+  private static Conflict createConflict(String fromClass, String calleeMethod) {
+    ClassTypeDescriptor inClass = TypeDescriptors.fromClassName(fromClass);
+    return new ConflictBuilder()
+        .category(Conflict.ConflictCategory.METHOD_SIGNATURE_NOT_FOUND)
+        .dependency(
+            new MethodDependencyBuilder()
+                .fromClass(inClass)
+                .fromMethod(
+                    new MethodDescriptorBuilder()
+                        .name("callerMethod")
+                        .returnType(TypeDescriptors.fromRaw("V"))
+                        .parameterTypes(List.of(TypeDescriptors.fromRaw("[Ljava/lang/String;")))
+                        .build())
+                .fromLineNumber(42)
+                .targetClass(TypeDescriptors.fromClassName("com/example/Target"))
+                .targetMethod(
+                    new MethodDescriptorBuilder()
+                        .name(calleeMethod)
+                        .returnType(TypeDescriptors.fromRaw("I"))
+                        .parameterTypes(List.of())
+                        .build())
+                .build())
+        .reason("Method not found")
+        .usedBy(new ArtifactName("library"))
+        .existsIn(new ArtifactName("other-library"))
+        .build();
+  }
+
+  /** Tests that a state read back from disk equals the state that was written. */
+  @Test
+  void testRoundTrip(@TempDir File tempDir) throws Exception {
+    File classes =
+        new File(
+            IncrementalStateTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    Artifact project = new ArtifactLoader().load(new ArtifactName("project"), classes);
+    List<Conflict> conflicts = List.of(createConflict("com/example/Caller", "calleeMethod"));
+
+    new IncrementalState(project, conflicts).write(tempDir);
+    IncrementalState read = IncrementalState.read(tempDir);
+
+    assertNotNull(read);
+    assertEquals(project.classes(), read.project().classes());
+    assertEquals(conflicts, read.conflicts());
+  }
+
+  /** Tests that a missing state is reported as absent. */
+  @Test
+  void testMissingState(@TempDir File tempDir) {
+    assertNull(IncrementalState.read(tempDir));
+  }
+
+  /** Tests that rechecked classes replace, and unreachable classes drop, previous conflicts. */
+  @Test
+  void testMergeConflicts(@TempDir File tempDir) throws Exception {
+    Conflict stale = createConflict("com/example/Rechecked", "removedMethod");
+    Conflict kept = createConflict("com/example/Unchanged", "calleeMethod");
+    Conflict unreachable = createConflict("com/example/Unreachable", "calleeMethod");
+    Conflict rechecked = createConflict("com/example/Rechecked", "calleeMethod");
+    Artifact project = new ArtifactLoader().load(new ArtifactName("project"), tempDir);
+
+    List<Conflict> merged =
+        new IncrementalState(project, List.of(stale, kept, unreachable))
+            .mergeConflicts(
+                List.of(rechecked),
+                Set.of(
+                    TypeDescriptors.fromClassName("com/example/Rechecked"),
+                    TypeDescriptors.fromClassName("com/example/Unchanged")));
+
+    assertEquals(List.of(rechecked, kept), merged);
+  }
+}
@@ -0,0 +1,94 @@
+package io.github.mridang.gradle.missinglink.analysis;
+
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.OBJECT;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.call;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.declare;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.method;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.type;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.MethodDescriptor;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the method-level {@link MethodReachability}. */
+class MethodReachabilityTest {
+
+  private static final ClassTypeDescriptor MAIN = type("com/example/Main");
+  private static final ClassTypeDescriptor SERVICE = type("com/example/Service");
+  private static final ClassTypeDescriptor SERVICE_IMPL = type("com/example/ServiceImpl");
+
+  /** Tests that only called methods, and overrides of virtually called methods, are reachable. */
+  @Test
+  void testReachesCalledMethodsAndOverrides() {
+    DeclaredClass main =
+        declare(
+            MAIN,
+            Set.of(OBJECT),
+            declare("main", true, call(SERVICE, "run", false), call(SERVICE, "helper", true)));
+    DeclaredClass service =
+        declare(
+            SERVICE,
+            Set.of(OBJECT),
+            declare("run", false),
+            declare("helper", true),
+            declare("unused", false));
+    DeclaredClass serviceImpl =
+        declare(SERVICE_IMPL, Set.of(SERVICE), declare("run", false), declare("unused", false));
+    DeclaredClass object = declare(OBJECT, Set.of(), declare("toString", false));
+    Map<ClassTypeDescriptor, DeclaredClass> classes =
+        Map.of(MAIN, main, SERVICE, service, SERVICE_IMPL, serviceImpl, OBJECT, object);
+
+    Map<ClassTypeDescriptor, Set<MethodDescriptor>> reachable =
+        MethodReachability.reachableMethods(List.of(main, serviceImpl), classes, OBJECT::equals);
+
+    assertEquals(Set.of(method("main")), reachable.get(MAIN));
+    assertEquals(Set.of(method("run"), method("helper")), reachable.get(SERVICE));
+    assertEquals(Set.of(method("run"), method("unused")), reachable.get(SERVICE_IMPL));
+  }
+
+  /** Tests that methods which opaque ancestors may call back are reachable. */
+  @Test
+  void testReachesOverridesOfOpaqueMethods() {
+    DeclaredClass main =
+        declare(MAIN, Set.of(OBJECT), declare("main", true, call(SERVICE, "<init>", false)));
+    DeclaredClass service =
+        declare(
+            SERVICE,
+            Set.of(OBJECT),
+            declare("<init>", false),
+            declare("toString", false),
+            declare("unused", false));
+    DeclaredClass object = declare(OBJECT, Set.of(), declare("toString", false));
+    Map<ClassTypeDescriptor, DeclaredClass> classes =
+        Map.of(MAIN, main, SERVICE, service, OBJECT, object);
+
+    Map<ClassTypeDescriptor, Set<MethodDescriptor>> reachable =
+        MethodReachability.reachableMethods(List.of(main), classes, OBJECT::equals);
+
+    assertEquals(Set.of(method("<init>"), method("toString")), reachable.get(SERVICE));
+  }
+
+  /** Tests that a malformed cyclic hierarchy does not prevent reaching methods. */
+  @Test
+  void testToleratesCyclicHierarchies() {
+    ClassTypeDescriptor first = type("com/example/First");
+    ClassTypeDescriptor second = type("com/example/Second");
+    DeclaredClass main =
+        declare(MAIN, Set.of(OBJECT), declare("main", true, call(first, "<init>", false)));
+    DeclaredClass firstClass = declare(first, Set.of(second), declare("<init>", false));
+    DeclaredClass secondClass =
+        declare(second, Set.of(first), declare("<init>", false), declare("unused", false));
+    Map<ClassTypeDescriptor, DeclaredClass> classes =
+        Map.of(MAIN, main, first, firstClass, second, secondClass);
+
+    Map<ClassTypeDescriptor, Set<MethodDescriptor>> reachable =
+        MethodReachability.reachableMethods(List.of(main), classes, OBJECT::equals);
+
+    assertEquals(Set.of(method("<init>")), reachable.get(first));
+  }
+}
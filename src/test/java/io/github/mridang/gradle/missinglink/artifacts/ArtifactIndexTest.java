@@ -0,0 +1,74 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.spotify.missinglink.ArtifactLoader;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for the {@link ArtifactIndex} serialization. */
+class ArtifactIndexTest {
+
+  /** Tests that an artifact read back from an index equals the artifact that was written. */
+  @Test
+  void testRoundTrip(@TempDir File tempDir) throws Exception {
+    File classes =
+        new File(
+            ArtifactIndexTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    Artifact artifact = new ArtifactLoader().load(new ArtifactName("test-classes"), classes);
+
+    File index = new File(tempDir, "test-classes" + ArtifactIndex.EXTENSION);
+    ArtifactIndex.write(List.of(artifact), index);
+    List<Artifact> read = ArtifactIndex.read(index);
+
+    assertEquals(1, read.size());
+    assertEquals(artifact.name().name(), read.get(0).name().name());
+    assertEquals(artifact.classes(), read.get(0).classes());
+  }
+
+  /** Tests that a memory-mapped index yields the same artifact and decodes classes on lookup. */
+  @Test
+  void testMappedRoundTrip(@TempDir File tempDir) throws Exception {
+    File classes =
+        new File(
+            ArtifactIndexTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    Artifact artifact = new ArtifactLoader().load(new ArtifactName("test-classes"), classes);
+
+    File index = new File(tempDir, "test-classes" + ArtifactIndex.EXTENSION);
+    ArtifactIndex.write(List.of(artifact), index);
+    List<Artifact> mapped = ArtifactIndex.map(index);
+
+    assertEquals(1, mapped.size());
+    assertTrue(mapped.get(0) instanceof LazyArtifact);
+    LazyArtifact lazy = (LazyArtifact) mapped.get(0);
+    assertTrue(lazy.classes().parsedClasses().isEmpty());
+    assertEquals(artifact.classes(), lazy.classes());
+  }
+
+  /** Tests that a truncated index is rejected instead of being read past its end. */
+  @Test
+  void testTruncatedIndexIsRejected(@TempDir File tempDir) throws Exception {
+    File classes =
+        new File(
+            ArtifactIndexTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    Artifact artifact = new ArtifactLoader().load(new ArtifactName("test-classes"), classes);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ArtifactIndex.write(List.of(artifact), out);
+    byte[] bytes = out.toByteArray();
+
+    File index = new File(tempDir, "truncated" + ArtifactIndex.EXTENSION);
+    Files.write(index.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+
+    assertThrows(IOException.class, () -> ArtifactIndex.map(index));
+  }
+}
@@ -0,0 +1,58 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.spotify.missinglink.ArtifactLoader;
+import com.spotify.missinglink.datamodel.Artifact;
+import io.github.mridang.gradle.missinglink.MissingLinkArtifact;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarOutputStream;
+import org.gradle.api.services.BuildServiceParameters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for the {@link ArtifactRegistry} build service. */
+class ArtifactRegistryTest {
+
+  /** Tests that an artifact loaded by one project's check is reused by another project's. */
+  @Test
+  void testArtifactsAreSharedBetweenProjects(@TempDir File tempDir) throws Exception {
+    File jar = new File(tempDir, "shared-lib.jar");
+    new JarOutputStream(Files.newOutputStream(jar.toPath())).close();
+
+    AtomicInteger loads = new AtomicInteger();
+    ClasspathArtifactLoader countingLoader =
+        artifact -> {
+          loads.incrementAndGet();
+          return new ArtifactLoader().load(artifact.toArtifactName(), artifact.file());
+        };
+    List<MissingLinkArtifact> classpath =
+        List.of(new MissingLinkArtifact("org.example", "shared-lib", "1.0.0", jar));
+
+    ArtifactRegistry registry = new TestArtifactRegistry();
+    Artifact first =
+        new ClasspathArtifacts(classpath, registry.share(countingLoader, "test"))
+            .toMissingLinkArtifacts(1)
+            .get(0);
+    Artifact second =
+        new ClasspathArtifacts(classpath, registry.share(countingLoader, "test"))
+            .toMissingLinkArtifacts(1)
+            .get(0);
+
+    assertEquals(1, loads.get(), "The shared artifact should be loaded exactly once");
+    assertSame(first, second);
+  }
+
+  /** A registry that can be instantiated outside of Gradle. */
+  private static final class TestArtifactRegistry extends ArtifactRegistry {
+
+    @Override
+    public BuildServiceParameters.None getParameters() {
+      throw new UnsupportedOperationException("Not implemented");
+    }
+  }
+}
@@ -1,8 +1,13 @@
 package io.github.mridang.gradle.missinglink.artifacts;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
+import java.io.File;
+import java.util.Objects;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class BootstrapArtifactsTest {
 
@@ -11,4 +16,26 @@ class BootstrapArtifactsTest {
     BootstrapArtifacts bootstrapArtifacts = new BootstrapArtifacts();
     assertFalse(bootstrapArtifacts.toMissingLinkArtifacts().isEmpty());
   }
+
+  @Test
+  void shouldReuseSnapshotOfJava9ModuleArtifacts(@TempDir File snapshotDirectory) {
+    BootstrapArtifacts parsed = BootstrapArtifacts.fromSnapshot(snapshotDirectory);
+    assertEquals(0, Objects.requireNonNull(snapshotDirectory.listFiles()).length);
+    assertFalse(parsed.artifacts().isEmpty());
+    assertEquals(1, Objects.requireNonNull(snapshotDirectory.listFiles()).length);
+
+    BootstrapArtifacts restored = BootstrapArtifacts.fromSnapshot(snapshotDirectory);
+    assertEquals(parsed.artifacts().size(), restored.artifacts().size());
+    assertEquals(parsed.artifacts().get(0).classes(), restored.artifacts().get(0).classes());
+  }
+
+  @Test
+  void shouldKeySnapshotsByJdkBuild() {
+    assertEquals(
+        BootstrapArtifacts.snapshotKey("/opt/jdk", "21.0.1+12"),
+        BootstrapArtifacts.snapshotKey("/opt/jdk", "21.0.1+12"));
+    assertNotEquals(
+        BootstrapArtifacts.snapshotKey("/opt/jdk", "21.0.1+12"),
+        BootstrapArtifacts.snapshotKey("/opt/jdk", "21.0.2+13"));
+  }
 }
@@ -0,0 +1,163 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.spotify.missinglink.Conflict;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactBuilder;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.CalledMethod;
+import com.spotify.missinglink.datamodel.CalledMethodBuilder;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.DeclaredClassBuilder;
+import com.spotify.missinglink.datamodel.DeclaredMethod;
+import com.spotify.missinglink.datamodel.DeclaredMethodBuilder;
+import com.spotify.missinglink.datamodel.MethodDescriptor;
+import com.spotify.missinglink.datamodel.MethodDescriptorBuilder;
+import com.spotify.missinglink.datamodel.TypeDescriptors;
+import io.github.mridang.gradle.missinglink.checker.SpotifyConflictChecker;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the {@link ClassModelInterner}. */
+class ClassModelInternerTest {
+
+  private static final MethodDescriptor RUN =
+      new MethodDescriptorBuilder()
+          .name("run")
+          .returnType(TypeDescriptors.fromRaw("V"))
+          .parameterTypes(List.of())
+          .build();
+
+  private static CalledMethod call(String owner, int lineNumber) {
+    return new CalledMethodBuilder()
+        .owner(TypeDescriptors.fromClassName(owner))
+        .descriptor(RUN)
+        .isStatic(false)
+        .lineNumber(lineNumber)
+        .caughtExceptions(List.of())
+        .build();
+  }
+
+  private static DeclaredClass declaredClass(String name, CalledMethod... calls) {
+    ClassTypeDescriptor className = TypeDescriptors.fromClassName(name);
+    DeclaredMethod method =
+        new DeclaredMethodBuilder()
+            .descriptor(RUN)
+            .lineNumber(7)
+            .methodCalls(List.of(calls))
+            .fieldAccesses(List.of())
+            .isStatic(false)
+            .build();
+    return new DeclaredClassBuilder()
+        .className(className)
+        .parents(Set.of(TypeDescriptors.fromClassName("java/lang/Object")))
+        .loadedClasses(Set.of())
+        .fields(Set.of())
+        .methods(Map.of(RUN, method))
+        .build();
+  }
+
+  private static Artifact artifact(String name, DeclaredClass clazz) {
+    return new ArtifactBuilder()
+        .name(new ArtifactName(name))
+        .classes(Map.of(clazz.className(), clazz))
+        .build();
+  }
+
+  private static DeclaredMethod run(Artifact artifact, String className) {
+    return artifact.classes().get(TypeDescriptors.fromClassName(className)).methods().get(RUN);
+  }
+
+  /** Tests that equal values of different artifacts are replaced by the same instance. */
+  @Test
+  void testEqualValuesAreShared() {
+    ClassModelInterner interner = new ClassModelInterner();
+
+    Artifact first =
+        interner.intern(artifact("first", declaredClass("com/example/First", call("a/Target", 3))));
+    Artifact second =
+        interner.intern(
+            artifact("second", declaredClass("com/example/Second", call("a/Target", 3))));
+
+    DeclaredClass firstClass = first.classes().values().iterator().next();
+    DeclaredClass secondClass = second.classes().values().iterator().next();
+    assertSame(firstClass.parents().iterator().next(), secondClass.parents().iterator().next());
+    assertSame(
+        run(first, "com/example/First").methodCalls().iterator().next(),
+        run(second, "com/example/Second").methodCalls().iterator().next());
+  }
+
+  /** Tests that line numbers are kept, so references that differ only by line stay distinct. */
+  @Test
+  void testLineNumbersAreKept() {
+    ClassModelInterner interner = new ClassModelInterner();
+
+    Artifact interned =
+        interner.intern(
+            artifact(
+                "lib",
+                declaredClass("com/example/Lib", call("a/Target", 3), call("a/Target", 9))));
+
+    DeclaredMethod method = run(interned, "com/example/Lib");
+    assertEquals(7, method.lineNumber());
+    assertEquals(2, method.methodCalls().size());
+  }
+
+  /** Tests that interning does not change the conflicts found, whichever reports are enabled. */
+  @Test
+  void testConflictsAreUnchanged() {
+    Artifact project =
+        artifact(
+            "project", declaredClass("com/example/Lib", call("a/Target", 3), call("a/Target", 9)));
+    DeclaredClass object =
+        new DeclaredClassBuilder()
+            .className(TypeDescriptors.fromClassName("java/lang/Object"))
+            .parents(Set.of())
+            .loadedClasses(Set.of())
+            .fields(Set.of())
+            .methods(Map.of())
+            .build();
+    Artifact jdk = artifact("jdk", object);
+    Artifact interned = new ClassModelInterner().intern(project);
+
+    List<Conflict> expected =
+        new SpotifyConflictChecker().check(project, List.of(project), List.of(project, jdk));
+    List<Conflict> conflicts =
+        new SpotifyConflictChecker().check(interned, List.of(interned), List.of(interned, jdk));
+
+    assertEquals(2, expected.size());
+    assertEquals(expected, conflicts);
+  }
+
+  /** Tests that interning a lazy artifact does not parse its classes. */
+  @Test
+  void testLazyArtifactsStayLazy() {
+    AtomicInteger parses = new AtomicInteger();
+    DeclaredClass clazz = declaredClass("com/example/Lazy", call("a/Target", 3));
+    LazyArtifact lazy =
+        new LazyArtifact(
+            new ArtifactName("lazy"),
+            new LazyClassMap(
+                Map.of(
+                    clazz.className(),
+                    () -> {
+                      parses.incrementAndGet();
+                      return clazz;
+                    })));
+    ClassModelInterner interner = new ClassModelInterner();
+
+    Artifact interned = interner.intern(lazy);
+
+    assertTrue(interned instanceof LazyArtifact);
+    assertEquals(0, parses.get());
+    assertEquals(3, run(interned, "com/example/Lazy").methodCalls().iterator().next().lineNumber());
+    assertEquals(1, parses.get());
+  }
+}
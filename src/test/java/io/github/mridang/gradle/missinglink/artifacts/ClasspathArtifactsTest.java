@@ -0,0 +1,82 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.spotify.missinglink.ArtifactLoader;
+import com.spotify.missinglink.datamodel.Artifact;
+import io.github.mridang.gradle.missinglink.MissingLinkArtifact;
+import io.github.mridang.gradle.missinglink.MissingLinkExclusions;
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for the {@link ClasspathArtifacts} record. */
+class ClasspathArtifactsTest {
+
+  /** Tests that every artifact is loaded only once, however often the model is requested. */
+  @Test
+  void testArtifactsAreLoadedOnce(@TempDir File tempDir) {
+    AtomicInteger loads = new AtomicInteger();
+    ArtifactLoader artifactLoader = new ArtifactLoader();
+    ClasspathArtifactLoader countingLoader =
+        artifact -> {
+          loads.incrementAndGet();
+          return artifactLoader.load(artifact.toArtifactName(), artifact.file());
+        };
+
+    ClasspathArtifacts artifacts =
+        new ClasspathArtifacts(
+            List.of(
+                new MissingLinkArtifact("org.example", "first-lib", "1.0.0", tempDir),
+                new MissingLinkArtifact("org.example", "second-lib", "1.0.0", tempDir)),
+            ClasspathArtifactLoader.memoizing(countingLoader));
+
+    List<Artifact> first = artifacts.toMissingLinkArtifacts(1);
+    List<Artifact> second =
+        artifacts.filter(new MissingLinkExclusions(List.of())).toMissingLinkArtifacts(1);
+
+    assertEquals(2, loads.get(), "Each artifact should be loaded exactly once");
+    assertSame(first.get(0), second.get(0));
+    assertSame(first.get(1), second.get(1));
+  }
+
+  /** Tests that parallel loading returns the artifacts in classpath order. */
+  @Test
+  void testParallelLoadingPreservesOrder(@TempDir File tempDir) {
+    List<MissingLinkArtifact> libraries =
+        IntStream.range(0, 16)
+            .mapToObj(i -> new MissingLinkArtifact("org.example", "lib-" + i, "1.0.0", tempDir))
+            .toList();
+
+    List<Artifact> loaded = new ClasspathArtifacts(libraries).toMissingLinkArtifacts(4);
+
+    assertEquals(
+        libraries.stream().map(library -> library.toArtifactName().name()).toList(),
+        loaded.stream().map(artifact -> artifact.name().name()).toList());
+  }
+
+  /** Tests that only artifacts whose version differs from the other classpath are selected. */
+  @Test
+  void testChangedSinceSelectsChangedAndRuntimeOnlyArtifacts(@TempDir File tempDir) {
+    ClasspathArtifacts artifacts =
+        new ClasspathArtifacts(
+            List.of(
+                new MissingLinkArtifact("org.example", "same", "1.0.0", tempDir),
+                new MissingLinkArtifact("org.example", "upgraded", "2.0.0", tempDir),
+                new MissingLinkArtifact("org.example", "runtime-only", "1.0.0", tempDir),
+                new MissingLinkArtifact("", "local.jar", "", tempDir)));
+
+    ClasspathArtifacts changed =
+        artifacts.changedSince(
+            Map.of("org.example:same", "1.0.0", "org.example:upgraded", "1.0.0"));
+
+    assertEquals(
+        List.of("upgraded", "runtime-only", "local.jar"),
+        changed.artifacts().stream().map(MissingLinkArtifact::name).toList());
+  }
+}
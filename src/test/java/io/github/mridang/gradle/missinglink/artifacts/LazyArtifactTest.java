@@ -0,0 +1,150 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.DeclaredClassBuilder;
+import com.spotify.missinglink.datamodel.TypeDescriptors;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for the lazily parsed {@link LazyArtifact} and {@link LazyClassMap}. */
+class LazyArtifactTest {
+
+  private static File writeJar(File tempDir) throws Exception {
+    String path = LazyArtifactTest.class.getName().replace('.', '/') + ".class";
+    File jar = new File(tempDir, "lazy.jar");
+    try (OutputStream out = Files.newOutputStream(jar.toPath());
+        ZipOutputStream zip = new ZipOutputStream(out);
+        InputStream classFile = LazyArtifactTest.class.getResourceAsStream("/" + path)) {
+      assertNotNull(classFile);
+      zip.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+      zip.closeEntry();
+      zip.putNextEntry(new ZipEntry(path));
+      classFile.transferTo(zip);
+      zip.closeEntry();
+    }
+    return jar;
+  }
+
+  /** Tests that only the central directory is read until a class is looked up. */
+  @Test
+  void testJarClassesAreParsedOnLookup(@TempDir File tempDir) throws Exception {
+    File jar = writeJar(tempDir);
+
+    LazyArtifact artifact = LazyArtifact.ofJar(new ArtifactName("lazy"), jar);
+    ClassTypeDescriptor className = TypeDescriptors.fromClassName(LazyArtifactTest.class.getName());
+
+    assertEquals(1, artifact.classes().size());
+    assertTrue(artifact.classes().containsKey(className));
+    assertTrue(artifact.classes().parsedClasses().isEmpty());
+
+    DeclaredClass parsed = artifact.classes().get(className);
+
+    assertEquals(className, parsed.className());
+    assertEquals(1, artifact.classes().parsedClasses().size());
+  }
+
+  /** Tests that a closed artifact reopens its jar to parse a class that was not parsed yet. */
+  @Test
+  void testClosedJarIsReopened(@TempDir File tempDir) throws Exception {
+    File jar = writeJar(tempDir);
+    ClassTypeDescriptor className = TypeDescriptors.fromClassName(LazyArtifactTest.class.getName());
+
+    LazyArtifact artifact = LazyArtifact.ofJar(new ArtifactName("lazy"), jar);
+    artifact.close();
+    LazyArtifact view = new LazyArtifact(artifact.name(), artifact.classes().withoutRetention());
+
+    assertEquals(className, view.classes().get(className).className());
+    view.close();
+    assertEquals(className, artifact.classes().get(className).className());
+    artifact.close();
+  }
+
+  /** Tests that each class is parsed at most once, and only when it is looked up. */
+  @Test
+  void testClassesAreParsedOnce() {
+    AtomicInteger parses = new AtomicInteger();
+    ClassTypeDescriptor first = TypeDescriptors.fromClassName("com/example/First");
+    ClassTypeDescriptor second = TypeDescriptors.fromClassName("com/example/Second");
+    Map<ClassTypeDescriptor, LazyClassMap.ClassParser> parsers = new LinkedHashMap<>();
+    parsers.put(
+        first,
+        () -> {
+          parses.incrementAndGet();
+          return new DeclaredClassBuilder()
+              .className(first)
+              .parents(Set.of())
+              .loadedClasses(Set.of())
+              .fields(Set.of())
+              .methods(Map.of())
+              .build();
+        });
+    parsers.put(
+        second,
+        () -> {
+          throw new AssertionError("Unexpected parse of " + second);
+        });
+    LazyClassMap classes = new LazyClassMap(parsers);
+
+    assertEquals(2, classes.keySet().size());
+    assertEquals(0, parses.get());
+    assertSame(classes.get(first), classes.get(first));
+    assertNull(classes.get(TypeDescriptors.fromClassName("com/example/Missing")));
+    assertEquals(1, parses.get());
+  }
+
+  /** Tests that views without retention parse classes on every lookup and keep none of them. */
+  @Test
+  void testViewsDoNotRetainClasses() {
+    AtomicInteger parses = new AtomicInteger();
+    ClassTypeDescriptor first = TypeDescriptors.fromClassName("com/example/First");
+    ClassTypeDescriptor second = TypeDescriptors.fromClassName("com/example/Second");
+    Map<ClassTypeDescriptor, LazyClassMap.ClassParser> parsers = new LinkedHashMap<>();
+    for (ClassTypeDescriptor className : List.of(first, second)) {
+      parsers.put(
+          className,
+          () -> {
+            parses.incrementAndGet();
+            return new DeclaredClassBuilder()
+                .className(className)
+                .parents(Set.of())
+                .loadedClasses(Set.of())
+                .fields(Set.of())
+                .methods(Map.of())
+                .build();
+          });
+    }
+    LazyClassMap classes = new LazyClassMap(parsers);
+    LazyClassMap view = classes.withoutRetention();
+    LazyClassMap restricted = view.restrict(first::equals);
+
+    assertEquals(Set.of(first), restricted.keySet());
+    assertEquals(first, restricted.get(first).className());
+    assertEquals(first, view.get(first).className());
+    assertEquals(2, parses.get());
+    assertTrue(view.parsedClasses().isEmpty());
+    assertTrue(classes.parsedClasses().isEmpty());
+
+    classes.get(second);
+    view.get(second);
+    assertEquals(3, parses.get(), "Classes parsed by the source map should be reused");
+  }
+}
@@ -0,0 +1,178 @@
+package io.github.mridang.gradle.missinglink.artifacts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.spotify.missinglink.ArtifactLoader;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.DeclaredClassBuilder;
+import com.spotify.missinglink.datamodel.TypeDescriptors;
+import io.github.mridang.gradle.missinglink.MissingLinkArtifact;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for the {@link WarmArtifactCache}. */
+class WarmArtifactCacheTest {
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private final ClasspathArtifactLoader countingLoader =
+      artifact -> {
+        loads.incrementAndGet();
+        return new ArtifactLoader().load(artifact.toArtifactName(), artifact.file());
+      };
+
+  @AfterEach
+  void clearCache() {
+    WarmArtifactCache.instance().resize(0);
+  }
+
+  /** Tests that an artifact is served from the cache on a later run. */
+  @Test
+  void testArtifactsSurviveBetweenRuns(@TempDir File tempDir) throws Exception {
+    MissingLinkArtifact artifact = emptyJar(tempDir, "cached-lib");
+    WarmArtifactCache cache = WarmArtifactCache.instance();
+    cache.resize(1024 * 1024);
+    WarmArtifactCache.Usage usage = cache.usage();
+
+    cache.share(countingLoader, "test", usage).load(artifact);
+    cache.share(countingLoader, "test", usage).load(artifact);
+
+    assertEquals(1, loads.get(), "The artifact should be loaded exactly once");
+    assertEquals(1, usage.hits());
+    assertEquals(1, usage.misses());
+  }
+
+  /** Tests that the least recently used artifact is evicted once the budget is exceeded. */
+  @Test
+  void testLeastRecentlyUsedArtifactIsEvicted(@TempDir File tempDir) throws Exception {
+    MissingLinkArtifact first = emptyJar(tempDir, "first-lib");
+    MissingLinkArtifact second = emptyJar(tempDir, "second-lib");
+    WarmArtifactCache cache = WarmArtifactCache.instance();
+    long weight =
+        WarmArtifactCache.estimateWeight(
+            new ArtifactLoader().load(first.toArtifactName(), first.file()));
+    cache.resize(weight);
+    WarmArtifactCache.Usage usage = cache.usage();
+
+    cache.share(countingLoader, "test", usage).load(first);
+    cache.share(countingLoader, "test", usage).load(second);
+    cache.share(countingLoader, "test", usage).load(first);
+
+    assertEquals(3, loads.get(), "The evicted artifact should be loaded again");
+    assertEquals(2, usage.evictions());
+  }
+
+  /** Tests that concurrent lookups of the same artifact load it once and share the result. */
+  @Test
+  void testConcurrentLookupsLoadOnce(@TempDir File tempDir) throws Exception {
+    MissingLinkArtifact artifact = emptyJar(tempDir, "contended-lib");
+    WarmArtifactCache cache = WarmArtifactCache.instance();
+    cache.resize(1024 * 1024);
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ClasspathArtifactLoader blockingLoader =
+        missingLinkArtifact -> {
+          loading.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return countingLoader.load(missingLinkArtifact);
+        };
+    WarmArtifactCache.Usage first = cache.usage();
+    WarmArtifactCache.Usage second = cache.usage();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Artifact> loaded =
+          executor.submit(() -> cache.share(blockingLoader, "test", first).load(artifact));
+      loading.await();
+      Thread waiter =
+          new Thread(
+              () -> {
+                try {
+                  cache.share(blockingLoader, "test", second).load(artifact);
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              });
+      waiter.start();
+      release.countDown();
+      waiter.join();
+
+      assertSame(loaded.get(), cache.share(countingLoader, "test", second).load(artifact));
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, loads.get(), "The artifact should be loaded exactly once");
+    assertEquals(1, first.misses());
+    assertEquals(0, second.misses());
+    assertEquals(2, second.hits());
+  }
+
+  /** Tests that parsing more classes of a cached lazy artifact can evict other artifacts. */
+  @Test
+  void testParsedClassesOfLazyArtifactsAreWeighed(@TempDir File tempDir) throws Exception {
+    MissingLinkArtifact first = emptyJar(tempDir, "first-lib");
+    MissingLinkArtifact second = emptyJar(tempDir, "second-lib");
+    Map<ClassTypeDescriptor, LazyClassMap.ClassParser> parsers = new LinkedHashMap<>();
+    for (int i = 0; i < 100; i++) {
+      ClassTypeDescriptor className = TypeDescriptors.fromClassName("com/example/C" + i);
+      DeclaredClass clazz =
+          new DeclaredClassBuilder()
+              .className(className)
+              .parents(Set.of())
+              .loadedClasses(Set.of())
+              .fields(Set.of())
+              .methods(Map.of())
+              .build();
+      parsers.put(className, () -> clazz);
+    }
+    ClasspathArtifactLoader lazyLoader =
+        artifact -> {
+          loads.incrementAndGet();
+          return new LazyArtifact(artifact.toArtifactName(), new LazyClassMap(parsers));
+        };
+    WarmArtifactCache cache = WarmArtifactCache.instance();
+    long unparsedWeight =
+        WarmArtifactCache.estimateWeight(
+            new LazyArtifact(new ArtifactName("unparsed"), new LazyClassMap(parsers)));
+    cache.resize(3 * unparsedWeight);
+    WarmArtifactCache.Usage usage = cache.usage();
+
+    cache.share(lazyLoader, "test", usage).load(first);
+    Artifact loaded = cache.share(lazyLoader, "test", usage).load(second);
+    assertEquals(2, cache.stats().entries());
+
+    for (ClassTypeDescriptor className : parsers.keySet()) {
+      loaded.classes().get(className);
+    }
+
+    assertEquals(1, cache.stats().entries(), "The growth of the second artifact should evict");
+    cache.share(lazyLoader, "test", usage).load(first);
+    assertEquals(3, loads.get(), "The evicted artifact should be loaded again");
+  }
+
+  private static MissingLinkArtifact emptyJar(File directory, String name) throws Exception {
+    File jar = new File(directory, name + ".jar");
+    new JarOutputStream(Files.newOutputStream(jar.toPath())).close();
+    return new MissingLinkArtifact("org.example", name, "1.0.0", jar);
+  }
+}
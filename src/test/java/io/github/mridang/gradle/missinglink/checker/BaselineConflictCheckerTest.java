@@ -0,0 +1,50 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.CALLER;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.MISSING;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.access;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.artifact;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.call;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.recording;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.type;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the {@link BaselineConflictChecker}. */
+class BaselineConflictCheckerTest {
+
+  private static final ClassTypeDescriptor STABLE = type("com/stable/Stable");
+  private static final ClassTypeDescriptor UPGRADED = type("com/upgraded/Upgraded");
+
+  /** Tests that stable classes only have their references into unstable classes rechecked. */
+  @Test
+  void testOnlyReferencesIntoOrOutOfUnstableClassesAreChecked() {
+    Artifact library =
+        artifact(
+            "com.app:library:1.0",
+            CALLER,
+            List.of(call(STABLE), call(UPGRADED), call(MISSING)),
+            List.of(access(STABLE), access(UPGRADED)));
+    Artifact upgraded =
+        artifact("com.upgraded:upgraded:2.0", UPGRADED, List.of(call(STABLE)), List.of());
+    Artifact stable = artifact("com.stable:stable:1.0", STABLE, List.of(), List.of());
+    List<String> checked = new ArrayList<>();
+
+    new BaselineConflictChecker(recording(checked), Set.of(CALLER, STABLE))
+        .check(library, List.of(library, upgraded), List.of(library, upgraded, stable));
+
+    assertEquals(
+        Set.of(
+            "com.app.Caller -> com.upgraded.Upgraded.run",
+            "com.app.Caller -> com.missing.Missing.run",
+            "com.app.Caller -> com.upgraded.Upgraded.count",
+            "com.upgraded.Upgraded -> com.stable.Stable.run"),
+        Set.copyOf(checked));
+  }
+}
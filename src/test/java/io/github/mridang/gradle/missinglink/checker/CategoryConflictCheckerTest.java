@@ -0,0 +1,91 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.CALLER;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.MISSING;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.access;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.artifact;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.call;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.method;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.recording;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.type;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.spotify.missinglink.Conflict;
+import com.spotify.missinglink.ConflictBuilder;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.FieldDependencyBuilder;
+import com.spotify.missinglink.datamodel.TypeDescriptors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the {@link CategoryConflictChecker}. */
+class CategoryConflictCheckerTest {
+
+  private static final ClassTypeDescriptor DECLARED = type("com/lib/Declared");
+
+  private static List<String> checkedReferences(Set<Conflict.ConflictCategory> categories) {
+    Artifact library =
+        artifact(
+            "com.app:library:1.0",
+            CALLER,
+            List.of(call(DECLARED), call(MISSING)),
+            List.of(access(DECLARED), access(MISSING)));
+    Artifact declared = artifact("com.lib:lib:1.0", DECLARED, List.of(), List.of());
+    List<String> checked = new ArrayList<>();
+
+    new CategoryConflictChecker(recording(checked), categories)
+        .check(library, List.of(library), List.of(library, declared));
+    return checked;
+  }
+
+  /** Tests that only references to undeclared classes are resolved for missing classes. */
+  @Test
+  void testClassNotFoundOnly() {
+    assertEquals(
+        Set.of(
+            "com.app.Caller -> com.missing.Missing.run",
+            "com.app.Caller -> com.missing.Missing.count"),
+        Set.copyOf(checkedReferences(Set.of(Conflict.ConflictCategory.CLASS_NOT_FOUND))));
+  }
+
+  /** Tests that only method calls into declared classes are resolved for missing methods. */
+  @Test
+  void testMethodSignatureNotFoundOnly() {
+    assertEquals(
+        List.of("com.app.Caller -> com.lib.Declared.run"),
+        checkedReferences(Set.of(Conflict.ConflictCategory.METHOD_SIGNATURE_NOT_FOUND)));
+  }
+
+  /** Tests that only conflicts of the included categories are reported. */
+  @Test
+  void testOtherCategoriesAreDropped() {
+    Conflict missingField =
+        new ConflictBuilder()
+            .category(Conflict.ConflictCategory.FIELD_NOT_FOUND)
+            .dependency(
+                new FieldDependencyBuilder()
+                    .fromClass(CALLER)
+                    .fromMethod(method("run"))
+                    .fromLineNumber(1)
+                    .targetClass(MISSING)
+                    .fieldName("count")
+                    .fieldType(TypeDescriptors.fromRaw("I"))
+                    .build())
+            .reason("Field not found")
+            .usedBy(new ArtifactName("com.app:library:1.0"))
+            .existsIn(new ArtifactName("com.lib:lib:1.0"))
+            .build();
+    Artifact library = artifact("com.app:library:1.0", CALLER, List.of(), List.of());
+
+    assertEquals(
+        List.of(),
+        new CategoryConflictChecker(
+                (project, allArtifacts) -> artifactsToCheck -> List.of(missingField),
+                Set.of(Conflict.ConflictCategory.CLASS_NOT_FOUND))
+            .check(library, List.of(library), List.of(library)));
+  }
+}
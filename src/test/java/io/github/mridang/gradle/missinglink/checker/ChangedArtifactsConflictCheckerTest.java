@@ -0,0 +1,48 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.CALLER;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.MISSING;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.access;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.artifact;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.call;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.recording;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.type;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the {@link ChangedArtifactsConflictChecker}. */
+class ChangedArtifactsConflictCheckerTest {
+
+  private static final ClassTypeDescriptor STABLE = type("com/stable/Stable");
+  private static final ClassTypeDescriptor UPGRADED = type("com/upgraded/Upgraded");
+
+  /** Tests that only references into changed artifacts or unknown classes are resolved. */
+  @Test
+  void testReferencesIntoUnchangedArtifactsAreDropped() {
+    Artifact library =
+        artifact(
+            "com.app:library:1.0",
+            CALLER,
+            List.of(call(STABLE), call(UPGRADED), call(MISSING)),
+            List.of(access(STABLE), access(UPGRADED)));
+    Artifact stable = artifact("com.stable:stable:1.0", STABLE, List.of(), List.of());
+    Artifact upgraded = artifact("com.upgraded:upgraded:2.0", UPGRADED, List.of(), List.of());
+    List<String> checked = new ArrayList<>();
+
+    new ChangedArtifactsConflictChecker(recording(checked), Set.of("com.upgraded:upgraded:2.0"))
+        .check(library, List.of(library), List.of(library, stable, upgraded));
+
+    assertEquals(
+        Set.of(
+            "com.app.Caller -> com.upgraded.Upgraded.run",
+            "com.app.Caller -> com.missing.Missing.run",
+            "com.app.Caller -> com.upgraded.Upgraded.count"),
+        Set.copyOf(checked));
+  }
+}
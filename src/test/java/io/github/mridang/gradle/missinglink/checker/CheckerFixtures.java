@@ -0,0 +1,286 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import com.spotify.missinglink.datamodel.AccessedField;
+import com.spotify.missinglink.datamodel.AccessedFieldBuilder;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactBuilder;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.CalledMethod;
+import com.spotify.missinglink.datamodel.CalledMethodBuilder;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.DeclaredClassBuilder;
+import com.spotify.missinglink.datamodel.DeclaredField;
+import com.spotify.missinglink.datamodel.DeclaredFieldBuilder;
+import com.spotify.missinglink.datamodel.DeclaredMethod;
+import com.spotify.missinglink.datamodel.DeclaredMethodBuilder;
+import com.spotify.missinglink.datamodel.MethodDescriptor;
+import com.spotify.missinglink.datamodel.MethodDescriptorBuilder;
+import com.spotify.missinglink.datamodel.TypeDescriptors;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the class models used by the checker and analysis tests.
+ *
+ * <p>Methods take no parameters and return {@code void}, and fields are {@code int}s, so that a
+ * test only spells out the names, owners and line numbers its scenario depends on.
+ */
+public final class CheckerFixtures {
+
+  /** The root of every class hierarchy. */
+  public static final ClassTypeDescriptor OBJECT = type("java/lang/Object");
+
+  /** A class of the project whose references are checked. */
+  public static final ClassTypeDescriptor CALLER = type("com/app/Caller");
+
+  /** A class that no artifact declares. */
+  public static final ClassTypeDescriptor MISSING = type("com/missing/Missing");
+
+  private CheckerFixtures() {}
+
+  /**
+   * Returns the descriptor of a class.
+   *
+   * @param className The internal name of the class.
+   * @return The class descriptor.
+   */
+  public static ClassTypeDescriptor type(String className) {
+    return TypeDescriptors.fromClassName(className);
+  }
+
+  /**
+   * Returns the descriptor of a method without parameters returning {@code void}.
+   *
+   * @param name The method name.
+   * @return The method descriptor.
+   */
+  public static MethodDescriptor method(String name) {
+    return new MethodDescriptorBuilder()
+        .name(name)
+        .returnType(TypeDescriptors.fromRaw("V"))
+        .parameterTypes(List.of())
+        .build();
+  }
+
+  /**
+   * Returns an {@code int} field.
+   *
+   * @param name The field name.
+   * @return The declared field.
+   */
+  public static DeclaredField field(String name) {
+    return new DeclaredFieldBuilder().name(name).descriptor(TypeDescriptors.fromRaw("I")).build();
+  }
+
+  /**
+   * Returns a call to the instance method {@code run} of the given owner, made from line 1.
+   *
+   * @param owner The class the method is called on.
+   * @return The method call.
+   */
+  public static CalledMethod call(ClassTypeDescriptor owner) {
+    return call(owner, "run", false);
+  }
+
+  /**
+   * Returns a call to a method of the given owner, made from line 1.
+   *
+   * @param owner The class the method is called on.
+   * @param name The method name.
+   * @param isStatic Whether the call is static.
+   * @return The method call.
+   */
+  public static CalledMethod call(ClassTypeDescriptor owner, String name, boolean isStatic) {
+    return call(owner, name, isStatic, 1);
+  }
+
+  /**
+   * Returns a call to a method of the given owner.
+   *
+   * @param owner The class the method is called on.
+   * @param name The method name.
+   * @param isStatic Whether the call is static.
+   * @param line The line the call is made from.
+   * @param caught The exceptions caught around the call.
+   * @return The method call.
+   */
+  public static CalledMethod call(
+      ClassTypeDescriptor owner,
+      String name,
+      boolean isStatic,
+      int line,
+      ClassTypeDescriptor... caught) {
+    return new CalledMethodBuilder()
+        .owner(owner)
+        .descriptor(method(name))
+        .isStatic(isStatic)
+        .lineNumber(line)
+        .caughtExceptions(List.of(caught))
+        .build();
+  }
+
+  /**
+   * Returns an access to the field {@code count} of the given owner, made from line 1.
+   *
+   * @param owner The class whose field is accessed.
+   * @return The field access.
+   */
+  public static AccessedField access(ClassTypeDescriptor owner) {
+    return access(owner, "count", 1);
+  }
+
+  /**
+   * Returns an access to an {@code int} field of the given owner.
+   *
+   * @param owner The class whose field is accessed.
+   * @param name The field name.
+   * @param line The line the access is made from.
+   * @return The field access.
+   */
+  public static AccessedField access(ClassTypeDescriptor owner, String name, int line) {
+    return new AccessedFieldBuilder()
+        .owner(owner)
+        .name(name)
+        .descriptor(TypeDescriptors.fromRaw("I"))
+        .lineNumber(line)
+        .caughtExceptions(List.of())
+        .build();
+  }
+
+  /**
+   * Returns a method that makes the given calls and no field accesses.
+   *
+   * @param name The method name.
+   * @param isStatic Whether the method is static.
+   * @param calls The calls made by the method.
+   * @return The declared method.
+   */
+  public static DeclaredMethod declare(String name, boolean isStatic, CalledMethod... calls) {
+    return declare(name, isStatic, List.of(calls), List.of());
+  }
+
+  /**
+   * Returns a method that makes the given references.
+   *
+   * @param name The method name.
+   * @param isStatic Whether the method is static.
+   * @param calls The calls made by the method.
+   * @param accesses The field accesses made by the method.
+   * @return The declared method.
+   */
+  public static DeclaredMethod declare(
+      String name, boolean isStatic, List<CalledMethod> calls, List<AccessedField> accesses) {
+    return new DeclaredMethodBuilder()
+        .descriptor(method(name))
+        .lineNumber(1)
+        .methodCalls(calls)
+        .fieldAccesses(accesses)
+        .isStatic(isStatic)
+        .build();
+  }
+
+  /**
+   * Returns a class that loads no other classes and declares no fields.
+   *
+   * @param className The class name.
+   * @param parents The superclass and interfaces of the class.
+   * @param methods The methods of the class.
+   * @return The declared class.
+   */
+  public static DeclaredClass declare(
+      ClassTypeDescriptor className, Set<ClassTypeDescriptor> parents, DeclaredMethod... methods) {
+    return declare(className, parents, Set.of(), Set.of(), methods);
+  }
+
+  /**
+   * Returns a class.
+   *
+   * @param className The class name.
+   * @param parents The superclass and interfaces of the class.
+   * @param loadedClasses The classes loaded by the class.
+   * @param fields The fields of the class.
+   * @param methods The methods of the class.
+   * @return The declared class.
+   */
+  public static DeclaredClass declare(
+      ClassTypeDescriptor className,
+      Set<ClassTypeDescriptor> parents,
+      Set<ClassTypeDescriptor> loadedClasses,
+      Set<DeclaredField> fields,
+      DeclaredMethod... methods) {
+    Map<MethodDescriptor, DeclaredMethod> declared = new LinkedHashMap<>();
+    for (DeclaredMethod method : methods) {
+      declared.put(method.descriptor(), method);
+    }
+    return new DeclaredClassBuilder()
+        .className(className)
+        .parents(parents)
+        .loadedClasses(loadedClasses)
+        .fields(fields)
+        .methods(declared)
+        .build();
+  }
+
+  /**
+   * Returns an artifact of the given classes, in the given order.
+   *
+   * @param name The artifact name.
+   * @param classes The classes of the artifact.
+   * @return The artifact.
+   */
+  public static Artifact artifact(String name, DeclaredClass... classes) {
+    Map<ClassTypeDescriptor, DeclaredClass> declared = new LinkedHashMap<>();
+    for (DeclaredClass clazz : classes) {
+      declared.put(clazz.className(), clazz);
+    }
+    return new ArtifactBuilder().name(new ArtifactName(name)).classes(declared).build();
+  }
+
+  /**
+   * Returns an artifact of a single class, whose method {@code run} makes the given references.
+   *
+   * @param name The artifact name.
+   * @param className The name of the class.
+   * @param calls The calls made by the class.
+   * @param accesses The field accesses made by the class.
+   * @return The artifact.
+   */
+  public static Artifact artifact(
+      String name,
+      ClassTypeDescriptor className,
+      List<CalledMethod> calls,
+      List<AccessedField> accesses) {
+    return artifact(
+        name, declare(className, Set.of(OBJECT), declare("run", false, calls, accesses)));
+  }
+
+  /**
+   * Returns a checker that records the references it is asked to check, as {@code "Class ->
+   * Owner.member"}, and reports no conflicts.
+   *
+   * @param checked The list the references are recorded in.
+   * @return The recording checker.
+   */
+  static MissingLinkChecker recording(List<String> checked) {
+    return (project, allArtifacts) ->
+        artifactsToCheck -> {
+          for (Artifact artifact : artifactsToCheck) {
+            for (DeclaredClass clazz : artifact.classes().values()) {
+              for (DeclaredMethod method : clazz.methods().values()) {
+                String from = clazz.className().getClassName() + " -> ";
+                for (CalledMethod call : method.methodCalls()) {
+                  checked.add(from + call.owner().getClassName() + "." + call.descriptor().name());
+                }
+                for (AccessedField access : method.fieldAccesses()) {
+                  checked.add(from + access.owner().getClassName() + "." + access.name());
+                }
+              }
+            }
+          }
+          return List.of();
+        };
+  }
+}
@@ -0,0 +1,49 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.OBJECT;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.artifact;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.declare;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.type;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the {@link IgnoredSourcesConflictChecker}. */
+class IgnoredSourcesConflictCheckerTest {
+
+  private static final ClassTypeDescriptor CHECKED = type("com/app/Checked");
+  private static final ClassTypeDescriptor IGNORED = type("com/app/generated/Ignored");
+
+  /** Tests that ignored classes are not checked, while the classpath keeps them. */
+  @Test
+  void testIgnoredClassesAreNotChecked() {
+    Artifact library =
+        artifact(
+            "com.app:library:1.0",
+            declare(CHECKED, Set.of(OBJECT)),
+            declare(IGNORED, Set.of(OBJECT)));
+    List<ClassTypeDescriptor> checked = new ArrayList<>();
+    List<Artifact> classpath = new ArrayList<>();
+    MissingLinkChecker recording =
+        (project, allArtifacts) -> {
+          classpath.addAll(allArtifacts);
+          return artifactsToCheck -> {
+            for (Artifact artifact : artifactsToCheck) {
+              checked.addAll(artifact.classes().keySet());
+            }
+            return List.of();
+          };
+        };
+
+    new IgnoredSourcesConflictChecker(recording, IGNORED::equals)
+        .check(library, List.of(library), List.of(library));
+
+    assertEquals(List.of(CHECKED), checked);
+    assertEquals(List.of(library), classpath);
+  }
+}
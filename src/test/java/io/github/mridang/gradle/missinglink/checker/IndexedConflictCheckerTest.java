@@ -0,0 +1,147 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.OBJECT;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.access;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.artifact;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.call;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.declare;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.field;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.type;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.spotify.missinglink.Conflict;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import io.github.mridang.gradle.missinglink.artifacts.LazyArtifact;
+import io.github.mridang.gradle.missinglink.artifacts.LazyClassMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the {@link IndexedConflictChecker}. */
+class IndexedConflictCheckerTest {
+
+  private static final ClassTypeDescriptor MAIN = type("com/example/Main");
+  private static final ClassTypeDescriptor CALLER = type("com/library/Caller");
+  private static final ClassTypeDescriptor BASE = type("com/library/Base");
+  private static final ClassTypeDescriptor IMPL = type("com/library/Impl");
+  private static final ClassTypeDescriptor GONE = type("com/library/Gone");
+  private static final ClassTypeDescriptor UNUSED = type("com/library/Unused");
+
+  private static List<String> describe(List<Conflict> conflicts) {
+    return conflicts.stream()
+        .map(
+            conflict ->
+                "%s %s %s -> %s line %d"
+                    .formatted(
+                        conflict.category(),
+                        conflict.dependency().targetClass().getClassName(),
+                        conflict.usedBy().name(),
+                        conflict.existsIn().name(),
+                        conflict.dependency().fromLineNumber()))
+        .toList();
+  }
+
+  /**
+   * Tests that the indexed checker reports the same conflicts as the Spotify checker, with the same
+   * reasons and in the same order.
+   */
+  @Test
+  void testReportsSameConflictsAsSpotifyChecker() {
+    Artifact project =
+        artifact("project", declare(MAIN, Set.of(OBJECT), Set.of(CALLER), Set.of()));
+    Artifact library =
+        artifact(
+            "library",
+            declare(
+                CALLER,
+                Set.of(OBJECT),
+                Set.of(IMPL),
+                Set.of(),
+                declare(
+                    "run",
+                    false,
+                    List.of(
+                        call(IMPL, "base", false, 10),
+                        call(IMPL, "missing", false, 11),
+                        call(IMPL, "util", false, 12),
+                        call(GONE, "run", true, 13),
+                        call(GONE, "run", true, 14, type("java/lang/NoClassDefFoundError"))),
+                    List.of(access(IMPL, "count", 20), access(IMPL, "nope", 21)))),
+            declare(
+                BASE,
+                Set.of(OBJECT),
+                Set.of(),
+                Set.of(field("count")),
+                declare("base", false, List.of(), List.of())),
+            declare(
+                IMPL,
+                Set.of(BASE),
+                Set.of(),
+                Set.of(),
+                declare("util", true, List.of(), List.of())),
+            declare(
+                UNUSED,
+                Set.of(OBJECT),
+                Set.of(),
+                Set.of(),
+                declare("run", false, List.of(call(GONE, "run", true, 30)), List.of())));
+    Artifact jdk = artifact("jdk", declare(OBJECT, Set.of(), Set.of(), Set.of()));
+
+    List<Conflict> conflicts =
+        new IndexedConflictChecker().check(project, List.of(library), List.of(library, jdk));
+
+    assertEquals(
+        List.of(
+            "METHOD_SIGNATURE_NOT_FOUND com.library.Impl library -> library line 11",
+            "METHOD_SIGNATURE_NOT_FOUND com.library.Impl library -> library line 12",
+            "CLASS_NOT_FOUND com.library.Gone library -> <unknown> line 13",
+            "FIELD_NOT_FOUND com.library.Impl library -> library line 21"),
+        describe(conflicts));
+    assertEquals(
+        new SpotifyConflictChecker().check(project, List.of(library), List.of(library, jdk)),
+        conflicts);
+  }
+
+  /** Tests that only the classes reachable from the project, or referenced by them, are parsed. */
+  @Test
+  void testOnlyParsesReachedClasses() {
+    Artifact project =
+        artifact("project", declare(MAIN, Set.of(OBJECT), Set.of(CALLER), Set.of()));
+    Artifact library =
+        artifact(
+            "library",
+            declare(
+                CALLER,
+                Set.of(OBJECT),
+                Set.of(),
+                Set.of(),
+                declare("run", false, List.of(call(IMPL, "missing", false, 10)), List.of())),
+            declare(BASE, Set.of(OBJECT), Set.of(), Set.of()),
+            declare(IMPL, Set.of(BASE), Set.of(), Set.of()),
+            declare(UNUSED, Set.of(OBJECT), Set.of(), Set.of()));
+    Set<ClassTypeDescriptor> parsed = ConcurrentHashMap.newKeySet();
+    Map<ClassTypeDescriptor, LazyClassMap.ClassParser> parsers = new LinkedHashMap<>();
+    for (DeclaredClass clazz : library.classes().values()) {
+      parsers.put(
+          clazz.className(),
+          () -> {
+            parsed.add(clazz.className());
+            return clazz;
+          });
+    }
+    Artifact lazy = new LazyArtifact(library.name(), new LazyClassMap(parsers).withoutRetention());
+
+    List<Conflict> conflicts =
+        new IndexedConflictChecker().check(project, List.of(lazy), List.of(lazy));
+
+    assertEquals(Set.of(CALLER, BASE, IMPL), parsed);
+    assertEquals(
+        List.of("METHOD_SIGNATURE_NOT_FOUND com.library.Impl library -> library line 10"),
+        describe(conflicts));
+  }
+}
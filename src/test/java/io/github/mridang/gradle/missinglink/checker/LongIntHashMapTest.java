@@ -0,0 +1,28 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the primitive {@link LongIntHashMap}. */
+class LongIntHashMapTest {
+
+  /** Tests that entries survive the map growing well beyond its expected size. */
+  @Test
+  void testPutAndGetBeyondExpectedSize() {
+    LongIntHashMap map = new LongIntHashMap(2);
+    for (int i = 0; i < 10_000; i++) {
+      map.put(LongIntHashMap.key(i, i * 31), i);
+    }
+    map.put(LongIntHashMap.key(7, 7 * 31), -7);
+
+    assertEquals(10_000, map.size());
+    assertEquals(-7, map.get(LongIntHashMap.key(7, 7 * 31), 0));
+    assertEquals(9_999, map.get(LongIntHashMap.key(9_999, 9_999 * 31), 0));
+    assertEquals(-1, map.get(LongIntHashMap.key(7, 8), -1));
+    assertTrue(map.containsKey(LongIntHashMap.key(0, 0)));
+    assertFalse(map.containsKey(LongIntHashMap.key(10_000, 0)));
+  }
+}
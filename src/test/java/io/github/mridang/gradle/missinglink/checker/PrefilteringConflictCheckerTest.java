@@ -0,0 +1,85 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.CALLER;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.OBJECT;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.access;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.artifact;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.call;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.declare;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.field;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.type;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.spotify.missinglink.datamodel.AccessedField;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.CalledMethod;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.DeclaredMethod;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the {@link PrefilteringConflictChecker}. */
+class PrefilteringConflictCheckerTest {
+
+  private static final ClassTypeDescriptor BASE = type("com/library/Base");
+  private static final ClassTypeDescriptor IMPL = type("com/library/Impl");
+
+  /** Tests that only references to members not declared by their owner are resolved. */
+  @Test
+  void testReferencesDeclaredByTheirOwnerAreDropped() {
+    Artifact library =
+        artifact(
+            "library",
+            declare(
+                CALLER,
+                Set.of(OBJECT),
+                Set.of(),
+                Set.of(),
+                declare(
+                    "run",
+                    false,
+                    List.of(
+                        call(IMPL, "util", true),
+                        call(IMPL, "util", false),
+                        call(IMPL, "base", false),
+                        call(BASE, "base", false)),
+                    List.of(access(IMPL, "own", 1), access(IMPL, "count", 1)))),
+            declare(BASE, Set.of(OBJECT), Set.of(), Set.of(field("count")), declare("base", false)),
+            declare(IMPL, Set.of(BASE), Set.of(), Set.of(field("own")), declare("util", true)));
+    List<String> checked = new ArrayList<>();
+    MissingLinkChecker recording =
+        (project, allArtifacts) ->
+            artifactsToCheck -> {
+              for (Artifact artifact : artifactsToCheck) {
+                for (DeclaredClass clazz : artifact.classes().values()) {
+                  for (DeclaredMethod method : clazz.methods().values()) {
+                    for (CalledMethod call : method.methodCalls()) {
+                      checked.add(
+                          "%s.%s static=%s"
+                              .formatted(
+                                  call.owner().getClassName(),
+                                  call.descriptor().name(),
+                                  call.isStatic()));
+                    }
+                    for (AccessedField access : method.fieldAccesses()) {
+                      checked.add(access.owner().getClassName() + "." + access.name());
+                    }
+                  }
+                }
+              }
+              return List.of();
+            };
+
+    new PrefilteringConflictChecker(recording).check(library, List.of(library), List.of(library));
+
+    assertEquals(
+        Set.of(
+            "com.library.Impl.util static=false",
+            "com.library.Impl.base static=false",
+            "com.library.Impl.count"),
+        Set.copyOf(checked));
+  }
+}
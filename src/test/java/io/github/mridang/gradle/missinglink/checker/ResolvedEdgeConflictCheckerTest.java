@@ -0,0 +1,54 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.CALLER;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.MISSING;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.access;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.artifact;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.call;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.recording;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.type;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import io.github.mridang.gradle.missinglink.artifacts.ResolvedEdge;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the {@link ResolvedEdgeConflictChecker}. */
+class ResolvedEdgeConflictCheckerTest {
+
+  private static final ClassTypeDescriptor OTHER = type("com/other/Other");
+  private static final ClassTypeDescriptor STABLE = type("com/stable/Stable");
+  private static final ClassTypeDescriptor UPGRADED = type("com/upgraded/Upgraded");
+
+  /** Tests that only the references of consumers into replaced versions are resolved. */
+  @Test
+  void testOnlyReplacedEdgesAreChecked() {
+    Artifact library =
+        artifact(
+            "com.app:library:1.0",
+            CALLER,
+            List.of(call(STABLE), call(UPGRADED), call(MISSING)),
+            List.of(access(STABLE), access(UPGRADED)));
+    Artifact other =
+        artifact("com.other:other:1.0", OTHER, List.of(call(UPGRADED)), List.of(access(UPGRADED)));
+    Artifact stable = artifact("com.stable:stable:1.0", STABLE, List.of(), List.of());
+    Artifact upgraded = artifact("com.upgraded:upgraded:2.0", UPGRADED, List.of(), List.of());
+    List<String> checked = new ArrayList<>();
+
+    new ResolvedEdgeConflictChecker(
+            recording(checked),
+            List.of(new ResolvedEdge("com.app:library:1.0", "com.upgraded:upgraded:2.0")))
+        .check(library, List.of(library, other), List.of(library, other, stable, upgraded));
+
+    assertEquals(
+        Set.of(
+            "com.app.Caller -> com.upgraded.Upgraded.run",
+            "com.app.Caller -> com.missing.Missing.run",
+            "com.app.Caller -> com.upgraded.Upgraded.count"),
+        Set.copyOf(checked));
+  }
+}
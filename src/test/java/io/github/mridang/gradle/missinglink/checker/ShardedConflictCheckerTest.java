@@ -0,0 +1,190 @@
+package io.github.mridang.gradle.missinglink.checker;
+
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.OBJECT;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.access;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.call;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.declare;
+import static io.github.mridang.gradle.missinglink.checker.CheckerFixtures.type;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.spotify.missinglink.Conflict;
+import com.spotify.missinglink.ConflictBuilder;
+import com.spotify.missinglink.datamodel.Artifact;
+import com.spotify.missinglink.datamodel.ArtifactBuilder;
+import com.spotify.missinglink.datamodel.ArtifactName;
+import com.spotify.missinglink.datamodel.ClassTypeDescriptor;
+import com.spotify.missinglink.datamodel.DeclaredClass;
+import com.spotify.missinglink.datamodel.DeclaredClassBuilder;
+import com.spotify.missinglink.datamodel.FieldDependency;
+import com.spotify.missinglink.datamodel.MethodDependency;
+import com.spotify.missinglink.datamodel.MethodDependencyBuilder;
+import com.spotify.missinglink.datamodel.MethodDescriptorBuilder;
+import com.spotify.missinglink.datamodel.TypeDescriptors;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the {@link ShardedConflictChecker}. */
+class ShardedConflictCheckerTest {
+
+  private static Artifact artifact(String name, int classCount) {
+    Map<ClassTypeDescriptor, DeclaredClass> classes = new LinkedHashMap<>();
+    for (int i = 0; i < classCount; i++) {
+      ClassTypeDescriptor className = TypeDescriptors.fromClassName("com/" + name + "/C" + i);
+      classes.put(
+          className,
+          new DeclaredClassBuilder()
+              .className(className)
+              .parents(Set.of())
+              .loadedClasses(Set.of())
+              .fields(Set.of())
+              .methods(Map.of())
+              .build());
+    }
+    return new ArtifactBuilder().name(new ArtifactName(name)).classes(classes).build();
+  }
+
+  private static List<String> classNames(List<Artifact> artifacts) {
+    List<String> classNames = new ArrayList<>();
+    for (Artifact artifact : artifacts) {
+      for (ClassTypeDescriptor className : artifact.classes().keySet()) {
+        classNames.add(artifact.name().name() + ":" + className.getClassName());
+      }
+    }
+    return classNames;
+  }
+
+  /** Tests that shards split artifacts into balanced parts without reordering any class. */
+  @Test
+  void testShardsKeepClasspathOrder() {
+    List<Artifact> artifacts = List.of(artifact("first", 5), artifact("second", 3));
+
+    List<List<Artifact>> shards = ShardedConflictChecker.shard(artifacts, 4);
+
+    assertEquals(4, shards.size());
+    assertEquals(classNames(artifacts), classNames(shards.stream().flatMap(List::stream).toList()));
+    for (List<Artifact> shard : shards) {
+      assertTrue(classNames(shard).size() <= 2);
+    }
+  }
+
+  /** Tests that batches hold at most the batch size of classes without reordering any class. */
+  @Test
+  void testBatchesKeepClasspathOrder() {
+    List<Artifact> artifacts = List.of(artifact("first", 5), artifact("second", 3));
+
+    List<List<Artifact>> batches = ShardedConflictChecker.batch(artifacts, 3);
+
+    assertEquals(3, batches.size());
+    assertEquals(
+        classNames(artifacts), classNames(batches.stream().flatMap(List::stream).toList()));
+    for (List<Artifact> batch : batches) {
+      assertTrue(classNames(batch).size() <= 3);
+    }
+  }
+
+  /** Tests that the conflicts of the shards are merged in classpath order. */
+  @Test
+  void testConflictsAreMergedInShardOrder() {
+    MissingLinkChecker recording =
+        (project, allArtifacts) ->
+            artifactsToCheck ->
+                artifactsToCheck.stream()
+                    .flatMap(artifact -> artifact.classes().keySet().stream())
+                    .map(
+                        className ->
+                            new ConflictBuilder()
+                                .category(Conflict.ConflictCategory.CLASS_NOT_FOUND)
+                                .dependency(
+                                    new MethodDependencyBuilder()
+                                        .fromClass(className)
+                                        .fromMethod(
+                                            new MethodDescriptorBuilder()
+                                                .name("run")
+                                                .returnType(TypeDescriptors.fromRaw("V"))
+                                                .parameterTypes(List.of())
+                                                .build())
+                                        .fromLineNumber(1)
+                                        .targetClass(className)
+                                        .targetMethod(
+                                            new MethodDescriptorBuilder()
+                                                .name("run")
+                                                .returnType(TypeDescriptors.fromRaw("V"))
+                                                .parameterTypes(List.of())
+                                                .build())
+                                        .build())
+                                .reason("Class not found")
+                                .usedBy(new ArtifactName("library"))
+                                .existsIn(new ArtifactName("library"))
+                                .build())
+                    .toList();
+    Artifact project = artifact("project", 0);
+    List<Artifact> artifacts = List.of(artifact("first", 40), artifact("second", 25));
+
+    List<Conflict> sequential = recording.check(project, artifacts, artifacts);
+    List<Conflict> sharded =
+        new ShardedConflictChecker(recording, 4).check(project, artifacts, artifacts);
+
+    List<Conflict> batched =
+        new ShardedConflictChecker(recording, 4, 7).check(project, artifacts, artifacts);
+
+    assertEquals(65, sharded.size());
+    assertEquals(sequential, sharded);
+    assertEquals(sequential, batched);
+  }
+
+  /**
+   * Tests that an artifact split across shards reports the conflicts of all its method calls before
+   * those of its field accesses, as when it is checked on one thread.
+   */
+  @Test
+  void testSplitArtifactsKeepConflictOrder() {
+    ClassTypeDescriptor gone = type("com/library/Gone");
+    List<DeclaredClass> classes = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      classes.add(
+          declare(
+              type("com/library/C" + i),
+              Set.of(OBJECT),
+              Set.of(),
+              Set.of(),
+              declare(
+                  "run",
+                  false,
+                  List.of(call(gone, "run", false, i)),
+                  List.of(access(gone, "count", 100 + i)))));
+    }
+    Artifact project =
+        CheckerFixtures.artifact(
+            "project",
+            declare(
+                type("com/example/Main"),
+                Set.of(OBJECT),
+                classes.stream().map(DeclaredClass::className).collect(Collectors.toSet()),
+                Set.of()));
+    Artifact library = CheckerFixtures.artifact("library", classes.toArray(DeclaredClass[]::new));
+    Artifact jdk = CheckerFixtures.artifact("jdk", declare(OBJECT, Set.of()));
+    List<Artifact> allArtifacts = List.of(library, jdk);
+
+    List<Conflict> sequential =
+        new ShardedConflictChecker(new IndexedConflictChecker(), 1)
+            .check(project, List.of(library), allArtifacts);
+    List<Conflict> sharded =
+        new ShardedConflictChecker(new IndexedConflictChecker(), 4)
+            .check(project, List.of(library), allArtifacts);
+    List<Conflict> batched =
+        new ShardedConflictChecker(new IndexedConflictChecker(), 2, 4)
+            .check(project, List.of(library), allArtifacts);
+
+    assertEquals(12, sequential.size());
+    assertTrue(sequential.get(5).dependency() instanceof MethodDependency);
+    assertTrue(sequential.get(6).dependency() instanceof FieldDependency);
+    assertEquals(sequential, sharded);
+    assertEquals(sequential, batched);
+  }
+}